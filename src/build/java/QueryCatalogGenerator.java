@@ -0,0 +1,244 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Build-time generator for the typed SQL query catalogue of the Balanza application.
+ * <p>
+ * This program is run by Maven during the generate-sources phase as a single-file
+ * source program. It parses the named queries in <code>queries.sql</code> and writes
+ * the <code>com.example.blanza.Query</code> enum, which has one constant per query
+ * together with its SQL text and the number of bind parameters it expects.
+ * <p>
+ * The query file uses the same format as before:
+ * <pre>
+ * -- @queryName
+ * SELECT column1, column2
+ * FROM table
+ * WHERE condition = ?;
+ * </pre>
+ * <p>
+ * The build fails if a query name is defined twice or a query has no body. Because
+ * the data access code refers to the generated constants, a misspelled or removed
+ * query name also fails the build, at compile time.
+ * <p>
+ * Usage: <code>java QueryCatalogGenerator.java &lt;queries.sql&gt; &lt;output source root&gt;</code>
+ */
+public class QueryCatalogGenerator {
+
+    /** Pattern of the comment line that starts a named query */
+    private static final Pattern QUERY_HEADER = Pattern.compile("^\\s*--\\s*@(\\w+)\\s*$");
+
+    /** Package of the generated class */
+    private static final String PACKAGE = "com.example.blanza";
+
+    /** Simple name of the generated class */
+    private static final String CLASS_NAME = "Query";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: java QueryCatalogGenerator.java <queries.sql> <output source root>");
+            System.exit(2);
+        }
+
+        Path sqlFile = Path.of(args[0]);
+        Path outputRoot = Path.of(args[1]);
+
+        Map<String, String> queries;
+        try {
+            queries = parse(Files.readAllLines(sqlFile, StandardCharsets.UTF_8));
+        } catch (IllegalStateException e) {
+            System.err.println(sqlFile + ": " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        Path outputFile = outputRoot.resolve(PACKAGE.replace('.', '/')).resolve(CLASS_NAME + ".java");
+        Files.createDirectories(outputFile.getParent());
+        String source = render(queries);
+        if (!Files.exists(outputFile) || !Files.readString(outputFile, StandardCharsets.UTF_8).equals(source)) {
+            Files.writeString(outputFile, source, StandardCharsets.UTF_8);
+        }
+        System.out.println("Generated " + queries.size() + " queries into " + outputFile);
+    }
+
+    /**
+     * Splits the query file into named queries, preserving file order.
+     *
+     * @param lines The lines of the query file
+     * @return Query bodies by name
+     * @throws IllegalStateException If a name is duplicated or a body is empty
+     */
+    private static Map<String, String> parse(List<String> lines) {
+        Map<String, String> queries = new LinkedHashMap<>();
+        String currentName = null;
+        StringBuilder body = new StringBuilder();
+
+        for (int i = 0; i < lines.size(); i++) {
+            Matcher header = QUERY_HEADER.matcher(lines.get(i));
+            if (header.matches()) {
+                if (currentName != null) {
+                    add(queries, currentName, body);
+                }
+                currentName = header.group(1);
+                if (queries.containsKey(currentName)) {
+                    throw new IllegalStateException("line " + (i + 1) + ": duplicate query name '" + currentName + "'");
+                }
+                body.setLength(0);
+            } else if (currentName != null) {
+                body.append(lines.get(i)).append('\n');
+            } else if (!lines.get(i).isBlank()) {
+                throw new IllegalStateException("line " + (i + 1) + ": SQL found before the first '-- @name' header");
+            }
+        }
+        if (currentName != null) {
+            add(queries, currentName, body);
+        }
+        return queries;
+    }
+
+    /**
+     * Adds a parsed query after checking that it has a body.
+     */
+    private static void add(Map<String, String> queries, String name, StringBuilder body) {
+        String sql = body.toString().trim();
+        if (sql.isEmpty()) {
+            throw new IllegalStateException("query '" + name + "' has no SQL");
+        }
+        queries.put(name, sql);
+    }
+
+    /**
+     * Counts the bind parameters of a statement, ignoring question marks inside
+     * string literals, quoted identifiers and comments.
+     *
+     * @param sql The SQL text
+     * @return The number of positional parameters
+     */
+    static int countParameters(String sql) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? sql.length() : end;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Renders the source of the generated enum.
+     */
+    private static String render(Map<String, String> queries) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(PACKAGE).append(";\n\n");
+        out.append("import java.util.HashMap;\n");
+        out.append("import java.util.Map;\n\n");
+        out.append("/**\n");
+        out.append(" * Typed catalogue of the named SQL queries defined in /sql/queries.sql.\n");
+        out.append(" * <p>\n");
+        out.append(" * Generated at build time by QueryCatalogGenerator. Do not edit; change\n");
+        out.append(" * queries.sql instead.\n");
+        out.append(" */\n");
+        out.append("public enum ").append(CLASS_NAME).append(" {\n");
+
+        List<String> constants = new ArrayList<>();
+        for (Map.Entry<String, String> entry : queries.entrySet()) {
+            String sql = entry.getValue();
+            constants.add("    /** <code>" + entry.getKey() + "</code> */\n"
+                    + "    " + entry.getKey().toUpperCase(Locale.ROOT)
+                    + "(\"" + entry.getKey() + "\", " + literal(sql) + ", " + countParameters(sql) + ")");
+        }
+        out.append(String.join(",\n\n", constants)).append(";\n\n");
+
+        out.append("    /** Lookup table from query name to constant */\n");
+        out.append("    private static final Map<String, ").append(CLASS_NAME).append("> BY_NAME = new HashMap<>();\n\n");
+        out.append("    static {\n");
+        out.append("        for (").append(CLASS_NAME).append(" query : values()) {\n");
+        out.append("            BY_NAME.put(query.name, query);\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+        out.append("    /** The query name used in queries.sql */\n");
+        out.append("    private final String name;\n\n");
+        out.append("    /** The SQL text of the query */\n");
+        out.append("    private final String sql;\n\n");
+        out.append("    /** The number of positional bind parameters in the query */\n");
+        out.append("    private final int parameterCount;\n\n");
+        out.append("    ").append(CLASS_NAME).append("(String name, String sql, int parameterCount) {\n");
+        out.append("        this.name = name;\n");
+        out.append("        this.sql = sql;\n");
+        out.append("        this.parameterCount = parameterCount;\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * Gets the query name used in queries.sql.\n");
+        out.append("     *\n");
+        out.append("     * @return the query name\n");
+        out.append("     */\n");
+        out.append("    public String getName() {\n");
+        out.append("        return name;\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * Gets the SQL text of the query.\n");
+        out.append("     *\n");
+        out.append("     * @return the SQL text\n");
+        out.append("     */\n");
+        out.append("    public String getSql() {\n");
+        out.append("        return sql;\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * Gets the number of positional bind parameters the query expects.\n");
+        out.append("     *\n");
+        out.append("     * @return the parameter count\n");
+        out.append("     */\n");
+        out.append("    public int getParameterCount() {\n");
+        out.append("        return parameterCount;\n");
+        out.append("    }\n\n");
+        out.append("    /**\n");
+        out.append("     * Finds a query by the name used in queries.sql.\n");
+        out.append("     *\n");
+        out.append("     * @param name the query name\n");
+        out.append("     * @return the query, or null if no query has that name\n");
+        out.append("     */\n");
+        out.append("    public static ").append(CLASS_NAME).append(" fromName(String name) {\n");
+        out.append("        return BY_NAME.get(name);\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * Renders a string as a Java string literal.
+     */
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> { }
+                case '\t' -> out.append("\\t");
+                default -> out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+}
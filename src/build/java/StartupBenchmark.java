@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build-time startup benchmark for the Balanza runtime image.
+ * <p>
+ * This program is run by Maven in the <code>cds</code> profile, after the class data
+ * sharing archive has been written into the jlink image. It launches the application
+ * from the image several times with <code>-Dbalanza.startup=exit</code>, which makes it
+ * exit as soon as its first screen is shown, and reports the wall-clock time of each
+ * launch:
+ * <ul>
+ *   <li><b>no CDS</b> - with <code>-Xshare:off</code>, so every class is loaded, parsed
+ *       and verified from the image</li>
+ *   <li><b>CDS</b> - with the default archive of the image, which holds the classes
+ *       recorded during the training run</li>
+ * </ul>
+ * The first launch of each mode is a warm-up and is not counted. The median and the
+ * best of the remaining launches are printed for both modes, with the difference.
+ * <p>
+ * Usage: <code>java StartupBenchmark.java &lt;image directory&gt; [launches]</code>
+ */
+public class StartupBenchmark {
+
+    /** Module and main class of the application */
+    private static final String MAIN = "com.example.blanza/com.example.blanza.Main";
+
+    /** Number of measured launches per mode when none is given */
+    private static final int DEFAULT_LAUNCHES = 5;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: java StartupBenchmark.java <image directory> [launches]");
+            System.exit(2);
+        }
+
+        Path java = Path.of(args[0], "bin", "java");
+        if (!Files.isExecutable(java)) {
+            System.err.println("No java launcher in " + args[0]);
+            System.exit(1);
+        }
+        int launches = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LAUNCHES;
+
+        List<Long> withoutCds = measure(java, "-Xshare:off", launches);
+        List<Long> withCds = measure(java, "-Xshare:auto", launches);
+
+        report("no CDS", withoutCds);
+        report("CDS", withCds);
+        long saved = median(withoutCds) - median(withCds);
+        System.out.printf("CDS saves %d ms (%.0f%%) of the median startup time%n",
+                saved, 100.0 * saved / median(withoutCds));
+    }
+
+    /**
+     * Launches the application once as a warm-up, then the given number of times,
+     * and returns the time of each measured launch in milliseconds.
+     *
+     * @param java The java launcher of the image
+     * @param shareOption The -Xshare option of the mode
+     * @param launches The number of measured launches
+     * @return The launch times, in launch order
+     */
+    private static List<Long> measure(Path java, String shareOption, int launches) throws IOException, InterruptedException {
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i <= launches; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(java.toString(), shareOption, "-Dbalanza.startup=exit", "-m", MAIN)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            int status = process.waitFor();
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (status != 0) {
+                System.err.println("Launch with " + shareOption + " exited with status " + status);
+                System.exit(1);
+            }
+            if (i > 0) {
+                times.add(elapsed);
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Prints the median and best launch time of a mode.
+     *
+     * @param mode The name of the mode
+     * @param times The launch times in milliseconds
+     */
+    private static void report(String mode, List<Long> times) {
+        System.out.printf("%-7s median %5d ms, best %5d ms over %d launches%n",
+                mode, median(times), Collections.min(times), times.size());
+    }
+
+    /**
+     * Returns the median of launch times.
+     *
+     * @param times The launch times in milliseconds
+     * @return The median launch time
+     */
+    private static long median(List<Long> times) {
+        List<Long> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
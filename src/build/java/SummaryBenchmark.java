@@ -0,0 +1,181 @@
+import com.example.blanza.Expense;
+import com.example.blanza.ExpenseColumns;
+import com.example.blanza.ExpenseSummary;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark of the sequential and parallel expense summary paths of
+ * {@link ExpenseColumns}, used to choose {@link ExpenseColumns#PARALLEL_THRESHOLD}.
+ * <p>
+ * For stores of increasing size, filled with random expenses over three years, the
+ * whole range is summarized with {@link ExpenseColumns#summarizeSequential} and with
+ * {@link ExpenseColumns#summarizeParallel} on a pool of the given number of workers.
+ * Each timing is the median of several rounds, each round repeating the summary
+ * enough times to last about 20 ms. Every summary is folded into a volatile field,
+ * so the JIT cannot drop the work as dead code. The crossover is the smallest size
+ * from which the parallel path is faster at every larger size.
+ * <p>
+ * When the machine has fewer processors than workers, the parallel time cannot be
+ * measured directly. The parallel path is then run on a pool with a single worker,
+ * so it costs the sequential scan plus the fork/join overhead, and the time on the
+ * given number of workers is estimated as <code>sequential / tasks + overhead</code>,
+ * where <code>tasks</code> is the number of leaf tasks the store is split into, at most
+ * the number of workers. Estimated times are marked with <code>~</code>, and a
+ * crossover found from them is a model estimate, not a measurement.
+ * <p>
+ * Usage, after <code>mvn compile</code>:
+ * <code>java -cp target/classes src/build/java/SummaryBenchmark.java [workers] [rounds]</code>
+ */
+public class SummaryBenchmark {
+
+    /** Store sizes to measure */
+    private static final int[] SIZES = {
+            1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000, 1_000_000
+    };
+
+    /** Number of measured rounds per size when none is given */
+    private static final int DEFAULT_ROUNDS = 9;
+
+    /** Minimum duration of one round, in nanoseconds */
+    private static final long ROUND_NANOS = 20_000_000L;
+
+    /** Number of distinct categories in the generated expenses */
+    private static final int CATEGORIES = 20;
+
+    /** Number of distinct payment methods in the generated expenses */
+    private static final int PAYMENT_METHODS = 4;
+
+    /** Number of days the generated expenses are spread over */
+    private static final int DAYS = 3 * 365;
+
+    /** Sink for the summary results, read so the summaries cannot be optimised away */
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        if (args.length > 2) {
+            System.err.println("Usage: java SummaryBenchmark.java [workers] [rounds]");
+            System.exit(2);
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(2, processors);
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        boolean estimated = processors < workers;
+
+        System.out.printf("%d processors, %d workers%s%n", processors, workers,
+                estimated ? " (parallel times estimated)" : "");
+        System.out.printf("%10s %12s %12s %8s%n", "expenses", "sequential", "parallel", "speedup");
+
+        LocalDate first = LocalDate.of(2022, 1, 1);
+        int fromDay = (int) first.toEpochDay();
+        int toDay = fromDay + DAYS - 1;
+        int recentFromDay = toDay - 30;
+
+        ForkJoinPool pool = new ForkJoinPool(estimated ? 1 : workers);
+        ExpenseColumns warmUp = ExpenseColumns.of(generate(SIZES[SIZES.length - 1], first));
+        time(rounds, () -> warmUp.summarizeSequential(fromDay, toDay, recentFromDay));
+        time(rounds, () -> warmUp.summarizeParallel(pool, fromDay, toDay, recentFromDay));
+
+        double[] speedups = new double[SIZES.length];
+        for (int s = 0; s < SIZES.length; s++) {
+            ExpenseColumns columns = ExpenseColumns.of(generate(SIZES[s], first));
+            double sequential = time(rounds, () -> columns.summarizeSequential(fromDay, toDay, recentFromDay));
+            double parallel = time(rounds, () -> columns.summarizeParallel(pool, fromDay, toDay, recentFromDay));
+            if (estimated) {
+                double overhead = Math.max(0, parallel - sequential);
+                parallel = sequential / Math.min(workers, leafTasks(SIZES[s])) + overhead;
+            }
+            speedups[s] = sequential / parallel;
+            System.out.printf("%10d %9.1f us %s%8.1f us %7.2fx%n", SIZES[s], sequential / 1_000,
+                    estimated ? "~" : " ", parallel / 1_000, speedups[s]);
+        }
+        pool.shutdown();
+
+        int crossover = SIZES.length;
+        while (crossover > 0 && speedups[crossover - 1] > 1) {
+            crossover--;
+        }
+        if (crossover == SIZES.length) {
+            System.out.println("The parallel path is not faster at any measured size");
+        } else {
+            System.out.printf("The parallel path is faster from %d expenses%s (PARALLEL_THRESHOLD is %d)%n",
+                    SIZES[crossover], estimated ? " by the estimate" : "", ExpenseColumns.PARALLEL_THRESHOLD);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Counts the leaf tasks a store is split into by the parallel path, which halves
+     * index ranges until they hold at most {@link ExpenseColumns#LEAF_SIZE} expenses.
+     *
+     * @param size The number of expenses in the store
+     * @return The number of leaf tasks
+     */
+    private static int leafTasks(int size) {
+        int leaves = 1;
+        while ((size + leaves - 1) / leaves > ExpenseColumns.LEAF_SIZE) {
+            leaves *= 2;
+        }
+        return leaves;
+    }
+
+    /**
+     * Generates random expenses with a fixed seed, so every run sees the same data.
+     *
+     * @param count The number of expenses
+     * @param first The date of the earliest expense
+     * @return The expenses
+     */
+    private static List<Expense> generate(int count, LocalDate first) {
+        Random random = new Random(42);
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int category = 1 + random.nextInt(CATEGORIES);
+            int paymentMethod = 1 + random.nextInt(PAYMENT_METHODS);
+            Expense expense = new Expense(1, "Category " + category, 1 + random.nextInt(50_000) / 100.0,
+                    first.plusDays(random.nextInt(DAYS)), "Method " + paymentMethod);
+            expense.setCategoryId(category);
+            expense.setPaymentMethodId(paymentMethod);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * Times a summary and returns the median time of one call.
+     * <p>
+     * The number of calls per round is the number that fit in {@link #ROUND_NANOS}
+     * during a first, unmeasured round.
+     *
+     * @param rounds The number of measured rounds
+     * @param summary The summary to time
+     * @return The median time of one call, in nanoseconds
+     */
+    private static double time(int rounds, Supplier<ExpenseSummary> summary) {
+        int repeats = 0;
+        long checksum = 0;
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < ROUND_NANOS) {
+            checksum += summary.get().getCount();
+            repeats++;
+        }
+
+        double[] times = new double[rounds];
+        for (int round = 0; round < rounds; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < repeats; i++) {
+                checksum += summary.get().getCount();
+            }
+            times[round] = (double) (System.nanoTime() - start) / repeats;
+        }
+        sink += checksum;
+        Arrays.sort(times);
+        return times[rounds / 2];
+    }
+}
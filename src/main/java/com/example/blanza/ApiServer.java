@@ -0,0 +1,647 @@
+package com.example.blanza;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Headless entry point that serves the Balanza managers over a local HTTP/JSON API.
+ * <p>
+ * The server uses the JDK built-in HTTP server, listens on the loopback interface
+ * only, on the port set by <code>API_PORT</code> in the .env file (see
+ * {@link AppConfig#getApiPort()}), and handles every request on its own virtual thread.
+ * <p>
+ * Every request authenticates either with HTTP Basic credentials, the email and
+ * password of a verified user, or with a <code>Bearer</code> token issued by
+ * <code>POST /api/sessions</code>. A token is checked against the in-memory
+ * {@link SessionStore} without reading the user from the database, so clients making
+ * many requests should log in once and send the token. The request is then handled inside
+ * {@link SessionService#callAs(int, java.util.function.Supplier)}, so the managers
+ * and data access objects it creates act for that user only, and requests of
+ * different users run concurrently in one process. Expenses go through the
+ * {@link ExpenseManager} shared by each user, so repeated report requests reuse its
+ * cached summaries.
+ * <p>
+ * Endpoints:
+ * <ul>
+ *   <li><code>POST /api/sessions</code> - starts a session for the user of the Basic
+ *       credentials and returns its <code>token</code> and <code>expiresAt</code>; a
+ *       bearer token cannot start another session</li>
+ *   <li><code>DELETE /api/sessions</code> - ends the session of the bearer token</li>
+ *   <li><code>GET /api/expenses</code> - one page of expenses by date; <code>limit</code>,
+ *       and <code>after</code> and <code>afterId</code> from the <code>next</code> cursor of
+ *       the previous page</li>
+ *   <li><code>POST /api/expenses</code> - adds an expense:
+ *       <code>{"category", "amount", "date", "paymentMethod"}</code></li>
+ *   <li><code>DELETE /api/expenses</code> - deletes the expense with the given <code>id</code></li>
+ *   <li><code>GET /api/expenses/total</code> - the number and total of all expenses</li>
+ *   <li><code>GET /api/expenses/summary</code> - the report aggregations for expenses on or
+ *       after <code>from</code>, with recent totals after <code>recentAfter</code></li>
+ *   <li><code>GET /api/incomes</code>, <code>POST /api/incomes</code> - paged incomes and
+ *       adding an income: <code>{"source", "amount", "date"}</code></li>
+ *   <li><code>GET /api/incomes/total</code> - the total of all incomes</li>
+ *   <li><code>GET /api/budgets</code>, <code>POST /api/budgets</code> - all budgets with the
+ *       spend of their current period, and adding a budget:
+ *       <code>{"category", "amount", "period", "periodDays"}</code>, where <code>period</code>
+ *       is <code>WEEKLY</code>, <code>MONTHLY</code> (the default) or <code>CUSTOM</code>,
+ *       which takes the period length in <code>periodDays</code></li>
+ *   <li><code>GET /api/budgets/periods</code> - the spend of the budget for
+ *       <code>category</code> over its last <code>limit</code> periods</li>
+ *   <li><code>GET /api/reminders</code>, <code>POST /api/reminders</code> - paged upcoming
+ *       reminders and adding a reminder: <code>{"title", "description", "time", "taskId"}</code></li>
+ * </ul>
+ * Errors are returned as <code>{"error": message}</code> with a 4xx or 5xx status.
+ * <p>
+ * Usage: <code>ApiServer</code>, for example through
+ * <code>mvn compile exec:java -Dexec.mainClass=com.example.blanza.ApiServer</code>.
+ *
+ * @see SessionService
+ * @see Json
+ */
+public class ApiServer {
+
+    /** Largest page size a client may ask for */
+    private static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * A parsed request: query parameters and body.
+     */
+    private static class Request {
+        private final Map<String, String> params;
+        private final String body;
+        private final String token;
+
+        Request(Map<String, String> params, String body, String token) {
+            this.params = params;
+            this.body = body;
+            this.token = token;
+        }
+
+        /** Parses the body as a flat JSON object */
+        Map<String, Object> json() {
+            try {
+                return Json.parseObject(body);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A response status and the value written as its JSON body.
+     */
+    private record Response(int status, Object body) {
+        static Response ok(Object body) {
+            return new Response(200, body);
+        }
+
+        static Response created(Object body) {
+            return new Response(201, body);
+        }
+    }
+
+    /**
+     * An error reported to the client with an HTTP status.
+     */
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Handles one method of an endpoint.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        Response handle(Request request);
+    }
+
+    /**
+     * Starts the server on the configured port.
+     *
+     * @param args unused
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        DatabaseInitializer.initialize();
+        BudgetRollover.start();
+        int port = AppConfig.get().getApiPort();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+        route(server, "/api/sessions", Map.of(
+                "POST", ApiServer::startSession,
+                "DELETE", ApiServer::endSession));
+        route(server, "/api/expenses", Map.of(
+                "GET", request -> Response.ok(page(ExpenseManager.forCurrentUser()::getPage, ApiServer::expenseJson,
+                        PageCursor.FIRST, request)),
+                "POST", ApiServer::addExpense,
+                "DELETE", ApiServer::deleteExpense));
+        route(server, "/api/expenses/total", Map.of("GET", ApiServer::expenseTotal));
+        route(server, "/api/expenses/summary", Map.of("GET", ApiServer::expenseSummary));
+        route(server, "/api/incomes", Map.of(
+                "GET", request -> Response.ok(page(new IncomeDB()::getPage, ApiServer::incomeJson,
+                        PageCursor.FIRST, request)),
+                "POST", ApiServer::addIncome));
+        route(server, "/api/incomes/total", Map.of(
+                "GET", request -> Response.ok(Map.of("total", new IncomeDB().getTotal()))));
+        route(server, "/api/budgets", Map.of(
+                "GET", request -> Response.ok(new BudgetManager().getAll().stream().map(ApiServer::budgetJson).toList()),
+                "POST", ApiServer::addBudget));
+        route(server, "/api/budgets/periods", Map.of("GET", ApiServer::budgetPeriods));
+        route(server, "/api/reminders", Map.of(
+                "GET", request -> Response.ok(page(new ReminderDB()::getPage, ApiServer::reminderJson,
+                        ReminderDB.upcoming(), request)),
+                "POST", ApiServer::addReminder));
+
+        server.start();
+        System.out.println("Balanza API listening on http://" + server.getAddress().getHostString() + ":" + port + "/api");
+    }
+
+    /**
+     * Registers the methods of an endpoint. Requests to sub-paths and with other
+     * methods are rejected.
+     */
+    private static void route(HttpServer server, String path, Map<String, Endpoint> methods) {
+        server.createContext(path, exchange -> {
+            try (exchange) {
+                Response response;
+                try {
+                    if (!exchange.getRequestURI().getPath().equals(path)) {
+                        throw new ApiException(404, "Not found");
+                    }
+                    Endpoint endpoint = methods.get(exchange.getRequestMethod());
+                    if (endpoint == null) {
+                        throw new ApiException(405, "Method not allowed");
+                    }
+                    String token = bearerToken(exchange);
+                    int userId = token != null ? resolveToken(token) : authenticate(exchange);
+                    Request request = new Request(queryParams(exchange.getRequestURI().getRawQuery()), readBody(exchange), token);
+                    response = SessionService.callAs(userId, () -> endpoint.handle(request));
+                } catch (ApiException e) {
+                    if (e.status == 401) {
+                        exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"Balanza\"");
+                    }
+                    response = new Response(e.status, Map.of("error", e.getMessage()));
+                } catch (RuntimeException e) {
+                    System.err.println("Error handling " + exchange.getRequestMethod() + " " + path + ": " + e.getMessage());
+                    response = new Response(500, Map.of("error", "Internal error"));
+                }
+                send(exchange, response);
+            }
+        });
+    }
+
+    /**
+     * Gets the bearer token of a request.
+     *
+     * @return the token, or null if the request does not use one
+     */
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+
+    /**
+     * Finds the user of a bearer token.
+     *
+     * @return the user id of the token's session
+     * @throws ApiException with status 401 if the token is unknown or expired
+     */
+    private static int resolveToken(String token) {
+        int userId = SessionStore.resolve(token);
+        if (userId == -1) {
+            throw new ApiException(401, "Invalid or expired token");
+        }
+        return userId;
+    }
+
+    /**
+     * Checks the Basic credentials of a request.
+     *
+     * @return the authenticated user id
+     * @throws ApiException with status 401 if the credentials are missing or invalid
+     */
+    private static int authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            throw new ApiException(401, "Authentication required");
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(401, "Malformed credentials");
+        }
+        int colon = credentials.indexOf(':');
+        int userId = colon < 0 ? -1
+                : UserManager.authenticate(credentials.substring(0, colon), credentials.substring(colon + 1));
+        if (userId == -1) {
+            throw new ApiException(401, "Invalid email or password");
+        }
+        return userId;
+    }
+
+    /**
+     * Reads the request body as UTF-8 text.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Writes a response as JSON.
+     */
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = Json.write(response.body()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Decodes a raw query string into its parameters.
+     */
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Reads one page of a keyset-paginated query.
+     * <p>
+     * The page starts after the <code>after</code> and <code>afterId</code> parameters
+     * when they are given, and at <code>start</code> otherwise. The response holds the
+     * items and the cursor of the next page, or null on the last page.
+     */
+    private static <T> Map<String, Object> page(PageLoader.PageSource<T> source, Function<T, Map<String, Object>> toJson,
+                                                PageCursor start, Request request) {
+        int limit = intParam(request, "limit", PageLoader.PAGE_SIZE);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        PageCursor after = start;
+        String key = request.params.get("after");
+        if (key != null) {
+            after = new PageCursor(key.matches("-?\\d+") ? (Object) Long.parseLong(key) : key, intParam(request, "afterId", 0));
+        }
+
+        Page<T> page = source.load(after, limit);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (T item : page.getItems()) {
+            items.add(toJson.apply(item));
+        }
+        Map<String, Object> next = null;
+        if (page.getNext() != null) {
+            next = new LinkedHashMap<>();
+            next.put("after", page.getNext().getKey());
+            next.put("afterId", page.getNext().getId());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("next", next);
+        return result;
+    }
+
+    /**
+     * Starts a session for the request's user. The session is kept in memory only.
+     * <p>
+     * Only Basic credentials can start a session. Otherwise any live token could
+     * be traded for a new one with a fresh expiry, and sessions would never expire.
+     */
+    private static Response startSession(Request request) {
+        if (request.token != null) {
+            throw new ApiException(401, "A session can only be started with a password");
+        }
+        SessionStore.Session session = SessionStore.issue(SessionService.getCurrentUserId(), false);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", session.token());
+        result.put("expiresAt", session.expiresAt());
+        return Response.created(result);
+    }
+
+    /**
+     * Ends the session of the request's bearer token.
+     */
+    private static Response endSession(Request request) {
+        if (request.token == null) {
+            throw new ApiException(400, "Only a bearer token session can be ended");
+        }
+        SessionStore.revoke(request.token);
+        return Response.ok(Map.of("ended", true));
+    }
+
+    /**
+     * Adds an expense for the request's user.
+     */
+    private static Response addExpense(Request request) {
+        Map<String, Object> body = request.json();
+        Expense expense = new Expense(SessionService.getCurrentUserId(), requiredString(body, "category"),
+                requiredNumber(body, "amount"), dateOrToday(body, "date"), optionalString(body, "paymentMethod"));
+        if (!ExpenseManager.forCurrentUser().addEntity(expense)) {
+            throw new ApiException(400, "Invalid expense");
+        }
+        return Response.created(expenseJson(expense));
+    }
+
+    /**
+     * Deletes an expense of the request's user.
+     */
+    private static Response deleteExpense(Request request) {
+        int id = intParam(request, "id", 0);
+        if (id <= 0) {
+            throw new ApiException(400, "id is required");
+        }
+        if (!ExpenseManager.forCurrentUser().delete(id)) {
+            throw new ApiException(404, "Expense not found");
+        }
+        return Response.ok(Map.of("deleted", true));
+    }
+
+    /**
+     * Returns the number and total of the request user's expenses.
+     */
+    private static Response expenseTotal(Request request) {
+        ExpenseManager manager = ExpenseManager.forCurrentUser();
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("count", manager.getCount());
+        totals.put("total", manager.getTotal());
+        return Response.ok(totals);
+    }
+
+    /**
+     * Returns the report aggregations of the request user's expenses.
+     * <p>
+     * <code>from</code> defaults to the start of the "All Time" report period and
+     * <code>recentAfter</code> to 30 days ago, as on the reports screen.
+     */
+    private static Response expenseSummary(Request request) {
+        LocalDate from = dateParam(request, "from", LocalDate.of(2000, 1, 1));
+        LocalDate recentAfter = dateParam(request, "recentAfter", LocalDate.now().minusDays(30));
+        ExpenseSummary summary = ExpenseManager.forCurrentUser().summarize(from, recentAfter);
+
+        Map<String, Object> paymentMethods = new LinkedHashMap<>();
+        Map<String, Integer> counts = summary.getPaymentMethodCounts();
+        summary.getPaymentMethodTotals().forEach((method, total) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("total", total);
+            entry.put("count", counts.get(method));
+            paymentMethods.put(method, entry);
+        });
+        Map<String, Object> months = new LinkedHashMap<>();
+        for (Map.Entry<YearMonth, Double> month : summary.getMonthlyTotals().entrySet()) {
+            months.put(month.getKey().toString(), month.getValue());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("recentAfter", recentAfter);
+        result.put("count", summary.getCount());
+        result.put("total", summary.getTotal());
+        result.put("recentTotal", summary.getRecentTotal());
+        result.put("categories", summary.getCategoryTotals());
+        result.put("recentCategories", summary.getRecentCategoryTotals());
+        result.put("paymentMethods", paymentMethods);
+        result.put("months", months);
+        return Response.ok(result);
+    }
+
+    /**
+     * Adds an income for the request's user.
+     */
+    private static Response addIncome(Request request) {
+        Map<String, Object> body = request.json();
+        Income income = new Income(SessionService.getCurrentUserId(), requiredString(body, "source"),
+                requiredNumber(body, "amount"), dateOrToday(body, "date"));
+        if (!new IncomeManager().addEntity(income)) {
+            throw new ApiException(400, "Invalid income");
+        }
+        return Response.created(incomeJson(income));
+    }
+
+    /**
+     * Adds a budget for the request's user.
+     */
+    private static Response addBudget(Request request) {
+        Map<String, Object> body = request.json();
+        Budget budget = new Budget(requiredString(body, "category"), requiredNumber(body, "amount"), 0,
+                SessionService.getCurrentUserId());
+        String period = optionalString(body, "period");
+        if (period != null) {
+            try {
+                budget.setPeriod(BudgetPeriod.valueOf(period), body.get("periodDays") instanceof Double days ? days.intValue() : 0);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "period must be WEEKLY, MONTHLY or CUSTOM");
+            }
+        }
+        if (!new BudgetManager().addEntity(budget)) {
+            throw new ApiException(400, "Invalid budget");
+        }
+        return Response.created(budgetJson(budget));
+    }
+
+    /**
+     * Lists the spend of one of the request user's budgets over its recent periods.
+     */
+    private static Response budgetPeriods(Request request) {
+        String category = request.params.get("category");
+        if (category == null || category.isBlank()) {
+            throw new ApiException(400, "category is required");
+        }
+        int limit = intParam(request, "limit", 12);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        BudgetDB db = new BudgetDB();
+        Budget budget = db.getBudgetByCategory(category, SessionService.getCurrentUserId());
+        if (budget == null) {
+            throw new ApiException(404, "No budget for " + category);
+        }
+        List<Map<String, Object>> periods = new ArrayList<>();
+        for (BudgetDB.PeriodSpend period : db.getPeriodSpend(budget.getId(), limit)) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("start", period.start());
+            json.put("end", period.end());
+            json.put("spend", period.spend());
+            periods.add(json);
+        }
+        return Response.ok(periods);
+    }
+
+    /**
+     * Adds a reminder for the request's user.
+     * <p>
+     * The reminder is validated like the desktop screen does and inserted directly,
+     * without building a {@link ReminderManager}, which would load all the user's
+     * reminders to insert one.
+     */
+    private static Response addReminder(Request request) {
+        Map<String, Object> body = request.json();
+        LocalDateTime time;
+        try {
+            time = LocalDateTime.parse(requiredString(body, "time"));
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "time must be an ISO date-time, such as 2024-05-01T09:30");
+        }
+        Object taskId = body.get("taskId");
+        Reminder reminder = new Reminder(SessionService.getCurrentUserId(), requiredString(body, "title"),
+                optionalString(body, "description"), time,
+                taskId instanceof Double id ? Integer.valueOf(id.intValue()) : null);
+        if (!ReminderManager.validateReminderData(reminder)) {
+            throw new ApiException(400, "Invalid reminder");
+        }
+        if (!new ReminderDB().insertToDatabase(reminder)) {
+            throw new ApiException(500, "The reminder could not be stored");
+        }
+        return Response.created(reminderJson(reminder));
+    }
+
+    private static Map<String, Object> expenseJson(Expense expense) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", expense.getId());
+        json.put("category", expense.getCategory());
+        json.put("amount", expense.getAmount());
+        json.put("date", expense.getDate());
+        json.put("paymentMethod", expense.getPaymentMethod());
+        return json;
+    }
+
+    private static Map<String, Object> incomeJson(Income income) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("source", income.getIncome_source());
+        json.put("amount", income.getAmount());
+        json.put("date", income.getPay_date());
+        return json;
+    }
+
+    private static Map<String, Object> budgetJson(Budget budget) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("category", budget.getCategory());
+        json.put("amount", budget.getAmount());
+        json.put("actualSpend", budget.getActual_spend());
+        json.put("remaining", budget.getRemaining_budget());
+        json.put("period", budget.getPeriod());
+        json.put("periodDays", budget.getPeriod_days());
+        json.put("periodStart", budget.getPeriod_start());
+        json.put("periodEnd", budget.getPeriod_end());
+        return json;
+    }
+
+    private static Map<String, Object> reminderJson(Reminder reminder) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", reminder.getId());
+        json.put("title", reminder.getTitle());
+        json.put("description", reminder.getDescription());
+        json.put("time", reminder.getTime());
+        json.put("taskId", reminder.getTask_id());
+        return json;
+    }
+
+    /**
+     * Reads a required string member of a request body.
+     */
+    private static String requiredString(Map<String, Object> body, String name) {
+        if (!(body.get(name) instanceof String value) || value.isBlank()) {
+            throw new ApiException(400, name + " is required");
+        }
+        return value;
+    }
+
+    /**
+     * Reads an optional string member of a request body.
+     */
+    private static String optionalString(Map<String, Object> body, String name) {
+        return body.get(name) instanceof String value && !value.isBlank() ? value : null;
+    }
+
+    /**
+     * Reads a required number member of a request body. Numbers too large for a
+     * double, such as <code>1e999</code>, are rejected rather than read as infinity.
+     */
+    private static double requiredNumber(Map<String, Object> body, String name) {
+        if (!(body.get(name) instanceof Double value) || !Double.isFinite(value)) {
+            throw new ApiException(400, name + " must be a number");
+        }
+        return value;
+    }
+
+    /**
+     * Reads an optional ISO date member of a request body, defaulting to today.
+     */
+    private static LocalDate dateOrToday(Map<String, Object> body, String name) {
+        String value = optionalString(body, name);
+        return value == null ? LocalDate.now() : parseDate(name, value);
+    }
+
+    /**
+     * Reads an optional ISO date query parameter.
+     */
+    private static LocalDate dateParam(Request request, String name, LocalDate defaultValue) {
+        String value = request.params.get(name);
+        return value == null || value.isEmpty() ? defaultValue : parseDate(name, value);
+    }
+
+    /**
+     * Reads an optional integer query parameter.
+     */
+    private static int intParam(Request request, String name, int defaultValue) {
+        String value = request.params.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, name + " must be an integer");
+        }
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, name + " must be an ISO date, such as 2024-05-01");
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.blanza;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvException;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+
+/**
+ * Immutable, typed application configuration loaded from the .env file.
+ * <p>
+ * The configuration is read and parsed exactly once, when this class is first
+ * referenced, and the resulting snapshot is shared by the whole application through
+ * {@link #get()}. Database access, OTP delivery and reminder notifications all read
+ * their settings from this snapshot, so no hot path touches the filesystem for
+ * configuration.
+ * <p>
+ * Supported keys:
+ * <ul>
+ *   <li><code>DB_URL</code> - JDBC URL of the application database</li>
+ *   <li><code>EMAIL_SENDER</code> - address used to send OTPs and reminders</li>
+ *   <li><code>PASS</code> - password of the sender account</li>
+ *   <li><code>REMINDER_DIGEST_WINDOW_MINUTES</code> - reminders of a user due within this
+ *       many minutes of each other are sent as one digest email, at most this long after
+ *       the first of them is due; <code>0</code> sends one email per reminder (default 5)</li>
+ *   <li><code>CONFIG_WATCH</code> - when <code>true</code>, the .env file is watched and
+ *       reloaded on change (see {@link #startWatching()})</li>
+ *   <li><code>VALIDATE_QUERIES</code> - when <code>true</code>, every SQL query is checked
+ *       against the schema at startup (see {@link QueryValidator})</li>
+ *   <li><code>SCENE_CACHE_SIZE</code> - number of screens kept loaded for instant
+ *       navigation; <code>0</code> reloads every screen on each visit (default 8, see
+ *       {@link SceneController})</li>
+ *   <li><code>API_PORT</code> - local port of the headless {@link ApiServer} (default 8765)</li>
+ *   <li><code>SESSION_TTL_HOURS</code> - how long a login session stays valid (default 720,
+ *       see {@link SessionStore})</li>
+ *   <li><code>SESSION_KEY</code> - base64 AES key; when set, the desktop session is kept
+ *       encrypted on disk so the user stays logged in across launches</li>
+ * </ul>
+ * <p>
+ * Hot reload never mutates an existing instance. A new snapshot is built and swapped in
+ * atomically, so a caller holding an {@code AppConfig} always sees a consistent set of
+ * values.
+ *
+ * @see Database
+ * @see EmailManager
+ */
+public final class AppConfig {
+
+    /** Directory containing the .env file */
+    private static final Path CONFIG_DIR = Paths.get(".").toAbsolutePath().normalize();
+
+    /** Name of the configuration file inside {@link #CONFIG_DIR} */
+    private static final String CONFIG_FILE = ".env";
+
+    /** The snapshot currently in effect */
+    private static volatile AppConfig current = load();
+
+    /** Background thread watching the .env file, or null when hot reload is off */
+    private static Thread watcherThread;
+
+    /** JDBC URL of the application database */
+    private final String dbUrl;
+
+    /** Address used as the sender of outgoing emails */
+    private final String emailSender;
+
+    /** Password of the sender email account */
+    private final String emailPassword;
+
+    /** Window within which due reminders are coalesced into one digest */
+    private final Duration reminderDigestWindow;
+
+    /** Whether the .env file should be watched for changes */
+    private final boolean watchEnabled;
+
+    /** Whether the SQL queries should be validated at startup */
+    private final boolean validateQueries;
+
+    /** Number of screens kept loaded by the scene controller */
+    private final int sceneCacheSize;
+
+    /** Local port of the headless API server */
+    private final int apiPort;
+
+    /** How long a session stays valid after it is issued */
+    private final Duration sessionTtl;
+
+    /** Base64 AES key for the persisted sessions, or null when sessions are not persisted */
+    private final String sessionKey;
+
+    /**
+     * Builds a snapshot from parsed .env entries.
+     *
+     * @param dotenv The parsed .env file
+     */
+    private AppConfig(Dotenv dotenv) {
+        this.dbUrl = dotenv.get("DB_URL");
+        this.emailSender = dotenv.get("EMAIL_SENDER");
+        this.emailPassword = dotenv.get("PASS");
+        this.reminderDigestWindow = Duration.ofMinutes(Math.max(0, intValue(dotenv, "REMINDER_DIGEST_WINDOW_MINUTES", 5)));
+        this.watchEnabled = Boolean.parseBoolean(dotenv.get("CONFIG_WATCH", "false"));
+        this.validateQueries = Boolean.parseBoolean(dotenv.get("VALIDATE_QUERIES", "false"));
+        this.sceneCacheSize = Math.max(0, intValue(dotenv, "SCENE_CACHE_SIZE", 8));
+        this.apiPort = intValue(dotenv, "API_PORT", 8765);
+        this.sessionTtl = Duration.ofHours(Math.max(1, intValue(dotenv, "SESSION_TTL_HOURS", 720)));
+        String key = dotenv.get("SESSION_KEY");
+        this.sessionKey = key == null || key.isBlank() ? null : key.trim();
+    }
+
+    /**
+     * Reads an integer entry, falling back to a default when it is missing or malformed.
+     *
+     * @param dotenv The parsed .env file
+     * @param key The entry name
+     * @param defaultValue The value used when the entry is absent or invalid
+     * @return The parsed value
+     */
+    private static int intValue(Dotenv dotenv, String key, int defaultValue) {
+        String value = dotenv.get(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns the configuration snapshot currently in effect.
+     *
+     * @return The current configuration
+     */
+    public static AppConfig get() {
+        return current;
+    }
+
+    /**
+     * Reads and parses the .env file into a new snapshot without installing it.
+     *
+     * @return A freshly loaded configuration
+     */
+    private static AppConfig load() {
+        return new AppConfig(Dotenv.configure().directory(CONFIG_DIR.toString()).load());
+    }
+
+    /**
+     * Re-reads the .env file and installs the result as the current snapshot.
+     * <p>
+     * If the file cannot be parsed, the previous snapshot stays in effect and the
+     * error is logged.
+     */
+    public static void reload() {
+        try {
+            current = load();
+        } catch (DotenvException e) {
+            System.err.println("Error reloading configuration: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a daemon thread that reloads the configuration whenever the .env file
+     * is created or modified.
+     * <p>
+     * Calling this method while the watcher is already running has no effect.
+     */
+    public static synchronized void startWatching() {
+        if (watcherThread != null && watcherThread.isAlive()) {
+            return;
+        }
+
+        watcherThread = new Thread(AppConfig::watch, "config-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops the .env watcher thread if it is running.
+     */
+    public static synchronized void stopWatching() {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+    }
+
+    /**
+     * Watch loop run by the watcher thread.
+     */
+    private static void watch() {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            CONFIG_DIR.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.toString().equals(CONFIG_FILE)) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error watching configuration: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the JDBC URL of the application database.
+     *
+     * @return The database URL
+     */
+    public String getDbUrl() {
+        return dbUrl;
+    }
+
+    /**
+     * Gets the address used as the sender of outgoing emails.
+     *
+     * @return The sender email address
+     */
+    public String getEmailSender() {
+        return emailSender;
+    }
+
+    /**
+     * Gets the password of the sender email account.
+     *
+     * @return The sender account password
+     */
+    public String getEmailPassword() {
+        return emailPassword;
+    }
+
+    /**
+     * Gets the window within which due reminders of a user are sent as one digest.
+     *
+     * @return The digest window, or {@link Duration#ZERO} when digest mode is off
+     */
+    public Duration getReminderDigestWindow() {
+        return reminderDigestWindow;
+    }
+
+    /**
+     * Indicates whether the .env file should be watched and reloaded on change.
+     *
+     * @return true if hot reload is enabled
+     */
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    /**
+     * Indicates whether the SQL queries should be validated at startup.
+     *
+     * @return true if startup query validation is enabled
+     */
+    public boolean isValidateQueries() {
+        return validateQueries;
+    }
+
+    /**
+     * Gets the number of screens the scene controller keeps loaded.
+     *
+     * @return The scene cache size, or 0 when screens are not cached
+     */
+    public int getSceneCacheSize() {
+        return sceneCacheSize;
+    }
+
+    /**
+     * Gets the local port the headless API server listens on.
+     *
+     * @return The API port
+     */
+    public int getApiPort() {
+        return apiPort;
+    }
+
+    /**
+     * Gets how long a session stays valid after it is issued.
+     *
+     * @return The session lifetime
+     */
+    public Duration getSessionTtl() {
+        return sessionTtl;
+    }
+
+    /**
+     * Gets the key used to encrypt the persisted sessions.
+     *
+     * @return The base64 AES key, or null when sessions are kept in memory only
+     */
+    public String getSessionKey() {
+        return sessionKey;
+    }
+}
@@ -13,6 +13,9 @@ import java.io.IOException;
  * scenes based on the authentication status.
  */
 public class AuthenticationController {
+    /** Data access object for user records. */
+    private final UserDB userDB = new UserDB();
+
     /** TextField for collecting user's email address. */
     @FXML private TextField emailField;
     
@@ -34,7 +37,9 @@ public class AuthenticationController {
     private void handleVerify(ActionEvent event) throws IOException {
         String OTP = OTPField.getText();
         if (AuthenticationService.verifyOTP(OTP)) {
-            UserDB.setVerified(SessionManager.loadSession());
+            int userId = SessionManager.loadSession();
+            userDB.setVerified(userId);
+            SessionService.setCurrentUserId(userId);
             SceneController.switchScene("home.fxml", "Balanza");
         }
         else {
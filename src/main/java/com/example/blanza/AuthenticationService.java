@@ -1,19 +1,20 @@
 package com.example.blanza;
 
-import io.github.cdimascio.dotenv.Dotenv;
-
 /**
  * Service class responsible for handling authentication-related operations.
  * 
  * This class provides methods for generating, sending, and verifying one-time passwords (OTPs)
- * as part of the user authentication and verification workflow. It utilizes environment variables
- * to securely manage email credentials for sending verification codes.
+ * as part of the user authentication and verification workflow. Email credentials for sending
+ * verification codes are read from the shared {@link AppConfig} snapshot.
  */
 public class AuthenticationService {
+    /** Data access object for user records */
+    private static final UserDB userDB = new UserDB();
+
     /**
      * Sends a one-time password (OTP) to the specified email address.
      * 
-     * This method loads email credentials from environment variables,
+     * This method reads email credentials from the application configuration,
      * creates an email manager instance, and sends the OTP to the user's
      * email address with appropriate subject and message content.
      *
@@ -21,10 +22,8 @@ public class AuthenticationService {
      * @param OTP   the one-time password to be sent to the user
      */
     public static void sendOTP(String email, String OTP) {
-        Dotenv dotenv = Dotenv.configure().directory(".").load();
-        String fromEmail = dotenv.get("EMAIL_SENDER");
-        String password = dotenv.get("PASS");
-        EmailManager emailManager = new EmailManager(fromEmail, password);
+        AppConfig config = AppConfig.get();
+        EmailManager emailManager = new EmailManager(config.getEmailSender(), config.getEmailPassword());
         emailManager.sendEmail(email, "Your Balanza verification code", "Hello " + email + " this is your verification code: " + OTP);
     }
 
@@ -38,7 +37,7 @@ public class AuthenticationService {
      * @return      true if the provided OTP matches the stored OTP, false otherwise
      */
     public static boolean verifyOTP(String OTP){
-        String requestedOTP = UserDB.getUserOTPByID(SessionManager.loadSession());
-        return requestedOTP.equals(OTP);
+        String requestedOTP = userDB.getUserOTPByID(SessionManager.loadSession());
+        return requestedOTP != null && requestedOTP.equals(OTP);
     }
 }
\ No newline at end of file
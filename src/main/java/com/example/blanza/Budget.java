@@ -1,11 +1,17 @@
 package com.example.blanza;
 
+import java.time.LocalDate;
+
 /**
  * Represents a budget category with tracking for allocated funds, actual spending, and remaining balance.
  * 
  * The Budget class extends FinancialEntity and provides functionality to manage 
  * category-specific budgeting, including tracking allocated amounts, actual expenditures,
  * and calculating remaining funds. Each budget is associated with a specific user and category.
+ *
+ * A budget is spent over periods of a {@link BudgetPeriod}, monthly by default. The actual
+ * spend and remaining amount are those of the current period, from period_start up to but
+ * not including period_end.
  */
 public class Budget extends FinancialEntity {
     /** The category name for this budget (e.g., "Groceries", "Entertainment", etc.) */
@@ -20,6 +26,18 @@ public class Budget extends FinancialEntity {
     /** The unique identifier for this budget record in the database */
     private int id;
 
+    /** The length of the periods the budget is spent over */
+    private BudgetPeriod period = BudgetPeriod.MONTHLY;
+
+    /** The number of days in a period, for custom periods */
+    private int period_days;
+
+    /** The first day of the current period, or null until the budget is stored */
+    private LocalDate period_start;
+
+    /** The first day after the current period, or null until the budget is stored */
+    private LocalDate period_end;
+
     /**
      * Constructs a new Budget with the specified category, amount, actual spend, and user ID.
      * 
@@ -119,4 +137,62 @@ public class Budget extends FinancialEntity {
     public void setId(int id) {
         this.id = id;
     }
+
+    /**
+     * Gets the length of the periods this budget is spent over.
+     *
+     * @return the budget period
+     */
+    public BudgetPeriod getPeriod() {
+        return period;
+    }
+
+    /**
+     * Sets the length of the periods this budget is spent over.
+     *
+     * @param period the budget period
+     * @param period_days the number of days in a period, for custom periods
+     */
+    public void setPeriod(BudgetPeriod period, int period_days) {
+        this.period = period;
+        this.period_days = period_days;
+    }
+
+    /**
+     * Gets the number of days in a custom period.
+     *
+     * @return the period length in days, or 0 for weekly and monthly budgets
+     */
+    public int getPeriod_days() {
+        return period_days;
+    }
+
+    /**
+     * Gets the first day of the current period.
+     *
+     * @return the period start, or null if the budget is not stored yet
+     */
+    public LocalDate getPeriod_start() {
+        return period_start;
+    }
+
+    /**
+     * Gets the first day after the current period.
+     *
+     * @return the period end, or null if the budget is not stored yet
+     */
+    public LocalDate getPeriod_end() {
+        return period_end;
+    }
+
+    /**
+     * Sets the bounds of the current period.
+     *
+     * @param period_start the first day of the period
+     * @param period_end the first day after the period
+     */
+    public void setCurrentPeriod(LocalDate period_start, LocalDate period_end) {
+        this.period_start = period_start;
+        this.period_end = period_end;
+    }
 }
\ No newline at end of file
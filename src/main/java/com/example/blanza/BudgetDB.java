@@ -1,6 +1,11 @@
 package com.example.blanza;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * BudgetDB is a database access class for managing Budget entities.
@@ -18,25 +23,335 @@ import java.util.List;
  *
  * SQL queries are referenced by name and are expected to be defined
  * in the underlying Database class or configuration.
+ *
+ * Budgets are spent over periods (see {@link BudgetPeriod}). The spend of every
+ * period is kept in the <code>budget_period_spend</code> table, and the spend of the
+ * current period is also kept on the budget row, with the period's bounds. Both are
+ * set from the user's existing expenses when the budget is created, and are then
+ * kept current by {@link ExpenseDB}, which calls {@link #addSpend} in the same
+ * transaction as every expense insert and delete. Reading the current utilization
+ * of a user's budgets is therefore a single read of the budgets table, through its
+ * <code>(user_id, category)</code> index, and never touches the expenses table.
+ *
+ * When a period ends, {@link #rollOver(LocalDate)}, run by {@link BudgetRollover},
+ * moves the budget to the period containing the given day. Its spend is taken from
+ * the spend table, where expenses dated in the future may already have put it.
+ * {@link #recomputeSpend()} rebuilds every budget's spend from the expenses, and
+ * runs once on databases created before spend was kept per period.
  */
 public class BudgetDB extends Database<Budget> {
 
+    /**
+     * Maps a budgets row to a Budget object, reading columns by index.
+     */
+    private static final ResultSetMapper<Budget> BUDGET_MAPPER = ResultSetMapper.indexed(columns -> {
+        int id = columns.of("id");
+        int userId = columns.of("user_id");
+        int category = columns.of("category");
+        int amount = columns.of("budget_amount");
+        int actualSpend = columns.of("actual_spend");
+        int remainingBudget = columns.of("remaining_budget");
+        int period = columns.of("period");
+        int periodDays = columns.of("period_days");
+        int periodStart = columns.of("period_start");
+        int periodEnd = columns.of("period_end");
+
+        return rs -> {
+            Budget budget = new Budget(rs.getString(category), rs.getDouble(amount),
+                    rs.getDouble(actualSpend), rs.getInt(userId));
+            budget.setId(rs.getInt(id));
+            budget.setRemaining_budget(rs.getDouble(remainingBudget));
+            budget.setPeriod(BudgetPeriod.fromName(rs.getString(period)), rs.getInt(periodDays));
+            budget.setCurrentPeriod(parseDate(rs.getString(periodStart)), parseDate(rs.getString(periodEnd)));
+            return budget;
+        };
+    });
+
+    /**
+     * The period settings of a stored budget.
+     *
+     * @param id The budget id
+     * @param userId The user the budget belongs to
+     * @param category The budget category
+     * @param period The length of the budget's periods
+     * @param days The number of days in a custom period
+     * @param start The first day of the budget's current period, or null if it has none yet
+     */
+    private record PeriodSettings(int id, int userId, String category, BudgetPeriod period, int days, LocalDate start) {
+
+        /** Gets the first day of the period containing a day */
+        LocalDate startOf(LocalDate day) {
+            return period.startOf(day, start != null ? start : day, days);
+        }
+
+        /** Gets the first day after the period starting on a day */
+        LocalDate endOf(LocalDate periodStart) {
+            return period.endOf(periodStart, days);
+        }
+    }
+
+    /**
+     * Maps a row of the budget period queries to the budget's period settings.
+     */
+    private static final ResultSetMapper<PeriodSettings> PERIOD_MAPPER = rs -> new PeriodSettings(rs.getInt("id"),
+            rs.getInt("user_id"), rs.getString("category"), BudgetPeriod.fromName(rs.getString("period")),
+            rs.getInt("period_days"), parseDate(rs.getString("period_start")));
+
+    /**
+     * The spend of a budget over one of its periods.
+     *
+     * @param start The first day of the period
+     * @param end The first day after the period
+     * @param spend The amount spent in the period
+     */
+    public record PeriodSpend(LocalDate start, LocalDate end, double spend) {
+    }
+
+    /** Name under which the one-off spend recompute is recorded in schema_migrations */
+    private static final String SPEND_MIGRATION = "budget_period_spend";
+
+    /**
+     * Steps that add the period columns to a budgets table created by an older
+     * version of the application.
+     */
+    private static final Query[] PERIOD_UPGRADE_STEPS = {
+            Query.UPGRADE_BUDGETS_ADD_PERIOD,
+            Query.UPGRADE_BUDGETS_ADD_PERIOD_DAYS,
+            Query.UPGRADE_BUDGETS_ADD_PERIOD_START,
+            Query.UPGRADE_BUDGETS_ADD_PERIOD_END
+    };
+
+    /**
+     * Adds the period columns to a budgets table created by an older version of
+     * the application, in one transaction. Existing budgets become monthly; their
+     * current period is set by the spend recompute. It does nothing if the table
+     * already has the columns.
+     */
+    public void upgradeLegacySchema() {
+        Integer periodColumns = executeSingleQuery(Query.COUNT_BUDGET_PERIOD_COLUMNS, stmt -> {}, rs -> rs.getInt(1));
+        if (periodColumns == null || periodColumns > 0) {
+            return;
+        }
+
+        executeInTransaction(conn -> {
+            for (Query step : PERIOD_UPGRADE_STEPS) {
+                executeUpdateQuery(conn, step, stmt -> {});
+            }
+        });
+    }
+
     /**
      * Inserts a new Budget record into the database.
      * The parameters are set in the order expected by the SQL statement.
+     * The budget's first period is the one containing today; a custom period
+     * starts today. In the same transaction, the spend of every period is set
+     * from the user's existing expenses in the budget's category. Once committed,
+     * the stored id, current period, spend and remaining amount are set on the budget.
      *
      * @param budget The Budget object to insert.
+     * @return true if the budget was stored
      */
     @Override
-    public void insertToDatabase(Budget budget) {
-        executeUpdateQuery("insert_budget", (stmt) -> {
-            
-            stmt.setInt(1, budget.getCurrentUserId());         
-            stmt.setString(2, budget.getCategory());    
-            stmt.setDouble(3, budget.getAmount());      
-            stmt.setDouble(4, budget.getActual_spend()); 
-            stmt.setDouble(5, budget.getRemaining_budget()); 
+    public boolean insertToDatabase(Budget budget) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = budget.getPeriod().startOf(today, today, budget.getPeriod_days());
+        LocalDate end = budget.getPeriod().endOf(start, budget.getPeriod_days());
+
+        boolean stored = executeInTransaction(conn -> {
+            int id = executeInsertQuery(conn, Query.INSERT_BUDGET, (stmt) -> {
+                stmt.setInt(1, budget.getCurrentUserId());
+                stmt.setString(2, budget.getCategory());
+                stmt.setDouble(3, budget.getAmount());
+                stmt.setDouble(4, 0);
+                stmt.setDouble(5, budget.getAmount());
+                stmt.setString(6, budget.getPeriod().name());
+                stmt.setInt(7, budget.getPeriod_days());
+                stmt.setString(8, start.toString());
+                stmt.setString(9, end.toString());
+            });
+            rebuildSpend(conn, new PeriodSettings(id, budget.getCurrentUserId(), budget.getCategory(),
+                    budget.getPeriod(), budget.getPeriod_days(), start), today);
+            executeUpdateQuery(conn, Query.UPDATE_BUDGET_REMAINING, stmt -> {});
+        });
+
+        Budget saved = stored ? getBudgetByCategory(budget.getCategory(), budget.getCurrentUserId()) : null;
+        if (saved != null) {
+            budget.setId(saved.getId());
+            budget.setActual_spend(saved.getActual_spend());
+            budget.setRemaining_budget(saved.getRemaining_budget());
+            budget.setCurrentPeriod(saved.getPeriod_start(), saved.getPeriod_end());
+        }
+        return stored;
+    }
+
+    /**
+     * Adds an amount to the spend of the budget matching an expense's user and
+     * category, in the period containing the expense's date, on the connection of
+     * a transaction. The current spend and remaining amount on the budget row are
+     * adjusted too when the expense falls in the budget's current period.
+     * <p>
+     * Called by {@link ExpenseDB} in the same transaction as the expense insert or
+     * delete. Nothing is changed if the user has no budget for the category.
+     *
+     * @param conn The connection of the transaction
+     * @param userId The user of the expense
+     * @param category The category of the expense
+     * @param date The date of the expense
+     * @param amount The amount to add, negative to remove spend
+     * @throws SQLException If a statement fails
+     */
+    static void addSpend(Connection conn, int userId, String category, LocalDate date, double amount) throws SQLException {
+        List<PeriodSettings> budgets = executeQuery(conn, Query.SELECT_BUDGET_PERIOD_BY_CATEGORY, stmt -> {
+            stmt.setInt(1, userId);
+            stmt.setString(2, category);
+        }, PERIOD_MAPPER);
+
+        for (PeriodSettings budget : budgets) {
+            LocalDate start = budget.startOf(date);
+            addPeriodSpend(conn, budget, start, amount);
+            if (start.equals(budget.start())) {
+                executeUpdateQuery(conn, Query.ADD_BUDGET_SPEND, stmt -> {
+                    stmt.setDouble(1, amount);
+                    stmt.setDouble(2, amount);
+                    stmt.setInt(3, budget.id());
+                });
+            }
+        }
+    }
+
+    /**
+     * Moves every budget whose current period has ended to the period containing
+     * a day, in one transaction.
+     * <p>
+     * Only the budgets due for rollover are read, through the index on
+     * <code>period_end</code>. The spend of the new period is read from the spend
+     * table; the expenses table is not scanned.
+     *
+     * @param today The day the new periods must contain
+     * @return The number of budgets moved to a new period
+     */
+    public int rollOver(LocalDate today) {
+        int[] rolled = new int[1];
+        executeInTransaction(conn -> {
+            List<PeriodSettings> due = executeQuery(conn, Query.SELECT_BUDGETS_DUE_FOR_ROLLOVER,
+                    stmt -> stmt.setString(1, today.toString()), PERIOD_MAPPER);
+            for (PeriodSettings budget : due) {
+                setCurrentPeriod(conn, budget, budget.startOf(today));
+            }
+            if (!due.isEmpty()) {
+                executeUpdateQuery(conn, Query.UPDATE_BUDGET_REMAINING, stmt -> {});
+            }
+            rolled[0] = due.size();
         });
+        return rolled[0];
+    }
+
+    /**
+     * Gets the spend of a budget over its most recent periods.
+     *
+     * @param budgetId The id of the budget
+     * @param limit The maximum number of periods to return
+     * @return The periods with spend, most recent first
+     */
+    public List<PeriodSpend> getPeriodSpend(int budgetId, int limit) {
+        return executeQuery(Query.SELECT_BUDGET_PERIOD_SPEND, stmt -> {
+            stmt.setInt(1, budgetId);
+            stmt.setInt(2, limit);
+        }, rs -> new PeriodSpend(LocalDate.parse(rs.getString("period_start")),
+                LocalDate.parse(rs.getString("period_end")), rs.getDouble("spend")));
+    }
+
+    /**
+     * Rebuilds the spend of every period of every budget from the expenses table,
+     * and moves each budget to the period containing today, in one transaction.
+     *
+     * @return true if the budgets were updated
+     */
+    public boolean recomputeSpend() {
+        return executeInTransaction(BudgetDB::rebuildAllSpend);
+    }
+
+    /**
+     * Runs {@link #recomputeSpend()} the first time it is called on a database, so
+     * budgets created before spend was kept per period start from their real spend.
+     * Later calls only check the schema_migrations record.
+     */
+    public void recomputeSpendOnce() {
+        executeInTransaction(conn -> {
+            int firstRun = executeUpdateQuery(conn, Query.INSERT_SCHEMA_MIGRATION,
+                    stmt -> stmt.setString(1, SPEND_MIGRATION));
+            if (firstRun > 0) {
+                rebuildAllSpend(conn);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds every budget's spend on the connection of a transaction.
+     */
+    private static void rebuildAllSpend(Connection conn) throws SQLException {
+        LocalDate today = LocalDate.now();
+        for (PeriodSettings budget : executeQuery(conn, Query.SELECT_BUDGETS_FOR_RECOMPUTE, stmt -> {}, PERIOD_MAPPER)) {
+            rebuildSpend(conn, budget, today);
+        }
+        executeUpdateQuery(conn, Query.UPDATE_BUDGET_REMAINING, stmt -> {});
+    }
+
+    /**
+     * Rebuilds the spend of every period of one budget from the user's expenses in
+     * its category, and moves the budget to the period containing today.
+     */
+    private static void rebuildSpend(Connection conn, PeriodSettings budget, LocalDate today) throws SQLException {
+        executeUpdateQuery(conn, Query.DELETE_BUDGET_PERIOD_SPEND, stmt -> stmt.setInt(1, budget.id()));
+
+        Map<LocalDate, Double> spendByPeriod = new TreeMap<>();
+        List<Map.Entry<LocalDate, Double>> expenses = executeQuery(conn, Query.SELECT_BUDGET_EXPENSES, stmt -> {
+            stmt.setInt(1, budget.userId());
+            stmt.setString(2, budget.category());
+        }, rs -> Map.entry(LocalDate.parse(rs.getString("date")), rs.getDouble("amount")));
+        for (Map.Entry<LocalDate, Double> expense : expenses) {
+            spendByPeriod.merge(budget.startOf(expense.getKey()), expense.getValue(), Double::sum);
+        }
+        for (Map.Entry<LocalDate, Double> period : spendByPeriod.entrySet()) {
+            addPeriodSpend(conn, budget, period.getKey(), period.getValue());
+        }
+
+        setCurrentPeriod(conn, budget, budget.startOf(today));
+    }
+
+    /**
+     * Adds an amount to the spend of one period of a budget.
+     */
+    private static void addPeriodSpend(Connection conn, PeriodSettings budget, LocalDate start, double amount)
+            throws SQLException {
+        executeUpdateQuery(conn, Query.ADD_BUDGET_PERIOD_SPEND, stmt -> {
+            stmt.setInt(1, budget.id());
+            stmt.setString(2, start.toString());
+            stmt.setString(3, budget.endOf(start).toString());
+            stmt.setDouble(4, amount);
+        });
+    }
+
+    /**
+     * Makes a period the current period of a budget, taking its spend from the
+     * spend table. The remaining amount is left for {@link Query#UPDATE_BUDGET_REMAINING}.
+     */
+    private static void setCurrentPeriod(Connection conn, PeriodSettings budget, LocalDate start) throws SQLException {
+        executeUpdateQuery(conn, Query.SET_BUDGET_PERIOD, stmt -> {
+            stmt.setString(1, start.toString());
+            stmt.setString(2, budget.endOf(start).toString());
+            stmt.setString(3, start.toString());
+            stmt.setInt(4, budget.id());
+        });
+    }
+
+    /**
+     * Parses a stored date.
+     *
+     * @return The date, or null if none is stored
+     */
+    private static LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value);
     }
 
     /**
@@ -46,22 +361,20 @@ public class BudgetDB extends Database<Budget> {
      */
     @Override
     public List<Budget> getAllFromDatabase() {
-        return executeQuery("select_all_budgets", stmt -> {
+        return executeQuery(Query.SELECT_ALL_BUDGETS, stmt -> {
             stmt.setInt(1, SessionService.getCurrentUserId());
-        }, rs -> {
-            int id = rs.getInt("id");
-            int userId = rs.getInt("user_id");
-            String category = rs.getString("category");
-            double amount = rs.getDouble("budget_amount");
-            double actualSpend = rs.getDouble("actual_spend");
-            double remainingBudget = rs.getDouble("remaining_budget");
-
-            Budget budget = new Budget(category, amount, actualSpend, userId);
-            budget.setId(id);
-            budget.setRemaining_budget(remainingBudget);
+        }, BUDGET_MAPPER);
+    }
 
-            return budget;
-        });
+    /**
+     * Retrieves the distinct budget categories of the current user.
+     *
+     * @return The categories in alphabetical order
+     */
+    public List<String> getCategories() {
+        return executeQuery(Query.SELECT_BUDGET_CATEGORIES, stmt -> {
+            stmt.setInt(1, SessionService.getCurrentUserId());
+        }, rs -> rs.getString(1));
     }
 
     /**
@@ -72,23 +385,26 @@ public class BudgetDB extends Database<Budget> {
      * @return The Budget object if found, or null if not found.
      */
     public Budget getBudgetByCategory(String category, int userId) {
-        List<Budget> budgets = executeQuery("select_budget_by_category", stmt -> {
+        return executeSingleQuery(Query.SELECT_BUDGET_BY_CATEGORY, stmt -> {
             stmt.setInt(1, userId);
             stmt.setString(2, category);
-        }, rs -> {
-            int id = rs.getInt("id");
-            double amount = rs.getDouble("budget_amount");
-            double actualSpend = rs.getDouble("actual_spend");
-            double remainingBudget = rs.getDouble("remaining_budget");
-
-            Budget budget = new Budget(category, amount, actualSpend, userId);
-            budget.setId(id);
-            budget.setRemaining_budget(remainingBudget);
+        }, BUDGET_MAPPER);
+    }
 
-            return budget;
+    /**
+     * Changes the amount of an existing budget, keeping its spend as stored.
+     * The remaining amount is computed by the database from the stored spend,
+     * so expenses saved since the budget was read are not lost.
+     *
+     * @param budget The budget, with its id, user and new amount
+     */
+    public void updateAmount(Budget budget) {
+        executeUpdateQuery(Query.UPDATE_BUDGET_AMOUNT, stmt -> {
+            stmt.setDouble(1, budget.getAmount());
+            stmt.setDouble(2, budget.getAmount());
+            stmt.setInt(3, budget.getId());
+            stmt.setInt(4, budget.getCurrentUserId());
         });
-
-        return budgets.isEmpty() ? null : budgets.get(0);
     }
 
     /**
@@ -97,7 +413,7 @@ public class BudgetDB extends Database<Budget> {
      * @param budget The Budget object containing updated values.
      */
     public void updateBudget(Budget budget) {
-        executeUpdateQuery("update_budget", stmt -> {
+        executeUpdateQuery(Query.UPDATE_BUDGET, stmt -> {
             stmt.setString(1, budget.getCategory());
             stmt.setDouble(2, budget.getAmount());
             stmt.setDouble(3, budget.getActual_spend());
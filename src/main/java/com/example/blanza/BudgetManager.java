@@ -26,14 +26,16 @@ public class BudgetManager extends FinancialEntityManager<Budget> {
     
     /**
      * Validates a budget entity before saving.
-     * A budget is considered valid if its amount is not negative.
+     * A budget is considered valid if its amount is finite and not negative and, for a
+     * custom period, the period lasts at least one day.
      *
      * @param budget The budget to validate
      * @return true if the budget is valid, false otherwise
      */
     @Override
     protected boolean validate(Budget budget) {
-        return budget.getAmount() >= 0;
+        return budget.getAmount() >= 0 && Double.isFinite(budget.getAmount())
+                && (budget.getPeriod() != BudgetPeriod.CUSTOM || budget.getPeriod_days() > 0);
     }
 
     /**
@@ -41,10 +43,11 @@ public class BudgetManager extends FinancialEntityManager<Budget> {
      * This method delegates the database operation to the BudgetDB instance.
      *
      * @param budget The budget to be saved to the database
+     * @return true if the budget was stored
      */
     @Override
-    protected void saveToDatabase(Budget budget) {
-        db.insertToDatabase(budget);
+    protected boolean saveToDatabase(Budget budget) {
+        return db.insertToDatabase(budget);
     }
 
     /**
@@ -0,0 +1,73 @@
+package com.example.blanza;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The length of the periods a budget is spent over.
+ * <p>
+ * The spend of a budget starts again from zero at the start of every period.
+ * Weekly periods start on Monday and monthly periods on the first day of the month.
+ * Custom periods last a given number of days and follow each other from the start
+ * of the budget's first period.
+ *
+ * @see Budget
+ * @see BudgetDB
+ */
+public enum BudgetPeriod {
+    /** Monday to Sunday */
+    WEEKLY,
+
+    /** A calendar month */
+    MONTHLY,
+
+    /** A fixed number of days */
+    CUSTOM;
+
+    /**
+     * Gets the first day of the period that contains a day.
+     *
+     * @param day The day
+     * @param anchor The first day of any period of the budget, used by custom periods
+     * @param days The length of a custom period in days
+     * @return The first day of the period
+     */
+    public LocalDate startOf(LocalDate day, LocalDate anchor, int days) {
+        return switch (this) {
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> day.withDayOfMonth(1);
+            case CUSTOM -> anchor.plusDays(Math.floorDiv(ChronoUnit.DAYS.between(anchor, day), (long) days) * days);
+        };
+    }
+
+    /**
+     * Gets the first day after a period.
+     *
+     * @param start The first day of the period
+     * @param days The length of a custom period in days
+     * @return The first day of the next period
+     */
+    public LocalDate endOf(LocalDate start, int days) {
+        return switch (this) {
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+            case CUSTOM -> start.plusDays(days);
+        };
+    }
+
+    /**
+     * Parses a period stored in the database, falling back to monthly.
+     *
+     * @param name The stored name
+     * @return The period
+     */
+    public static BudgetPeriod fromName(String name) {
+        try {
+            return name == null ? MONTHLY : valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return MONTHLY;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.blanza;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled job that moves budgets to their next period when the current one ends.
+ * <p>
+ * Once started, the job runs {@link BudgetDB#rollOver(LocalDate)} straight away, to
+ * catch up on periods that ended while the application was not running, and then
+ * shortly after every local midnight, when weekly, monthly and custom periods end.
+ * Each run reads only the budgets whose period has ended and takes the spend of
+ * their new period from the per-period spend table, so it never scans the expense
+ * history.
+ *
+ * @see BudgetDB
+ * @see BudgetPeriod
+ */
+public class BudgetRollover {
+
+    /** Delay after midnight before a run, so the new day has surely started */
+    private static final Duration AFTER_MIDNIGHT = Duration.ofSeconds(5);
+
+    /** Runs the rollover off the threads serving the user */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "budget-rollover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Whether the job has been started */
+    private static boolean started;
+
+    /**
+     * Starts the job. Calls after the first one do nothing.
+     * <p>
+     * The database schema must exist before this method is called.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        SCHEDULER.execute(BudgetRollover::runAndReschedule);
+    }
+
+    /**
+     * Rolls the due budgets over, then schedules the next run after the coming midnight.
+     */
+    private static void runAndReschedule() {
+        try {
+            int rolled = new BudgetDB().rollOver(LocalDate.now());
+            if (rolled > 0) {
+                System.out.println("Budgets moved to a new period: " + rolled);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error rolling budgets over: " + e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().plusDays(1).atStartOfDay().plus(AFTER_MIDNIGHT);
+        SCHEDULER.schedule(BudgetRollover::runAndReschedule, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -12,7 +12,16 @@ import javafx.scene.paint.Color;
 import java.io.IOException;
 import java.util.*;
 
-public class BudgetingTrackingController {
+/**
+ * Controller of the budgeting screen.
+ * <p>
+ * The spend shown for each budget is that of its current weekly, monthly or custom
+ * period. It is kept current by {@link ExpenseDB} as expenses are saved and by
+ * {@link BudgetRollover} as periods end, so this screen only reads the budgets
+ * table. When its cached screen is shown again, the budgets are re-read to pick up
+ * expenses added or deleted in the meantime.
+ */
+public class BudgetingTrackingController implements Reactivatable {
     private final BudgetDB budgetDB;
     private final ExpenseDB expenseDB;
 
@@ -33,12 +42,24 @@ public class BudgetingTrackingController {
         setupCategoryComboBox();
 
         
+        setupPeriodComboBox();
+
+        
         refreshBudgets();
 
         
         remainingBudgetLabel.setText("");
     }
 
+    /**
+     * Re-read the budgets when the cached screen is shown again, so spend from
+     * expenses added on other screens is visible
+     */
+    @Override
+    public void onReactivated() {
+        refreshBudgets();
+    }
+
     /**
      * Set up the category combo box with standard and existing categories
      */
@@ -49,6 +70,19 @@ public class BudgetingTrackingController {
         categoryComboBox.setPromptText("Select or enter a category");
     }
 
+    /**
+     * Set up the period combo box, showing the days field only for custom periods
+     */
+    private void setupPeriodComboBox() {
+        periodComboBox.setItems(FXCollections.observableArrayList(BudgetPeriod.values()));
+        periodComboBox.setValue(BudgetPeriod.MONTHLY);
+        periodComboBox.valueProperty().addListener((observable, oldPeriod, period) -> {
+            boolean custom = period == BudgetPeriod.CUSTOM;
+            periodDaysField.setVisible(custom);
+            periodDaysField.setManaged(custom);
+        });
+    }
+
     /**
      * Get all available categories from standard list, expenses, and budgets
      */
@@ -63,16 +97,16 @@ public class BudgetingTrackingController {
         ));
 
         
-        for (Expense expense : expenseDB.getAllFromDatabase()) {
-            if (expense.getCategory() != null && !expense.getCategory().isEmpty()) {
-                categories.add(expense.getCategory());
+        for (String category : expenseDB.getCategories()) {
+            if (category != null && !category.isEmpty()) {
+                categories.add(category);
             }
         }
 
         
-        for (Budget budget : budgetDB.getAllFromDatabase()) {
-            if (budget.getCategory() != null && !budget.getCategory().isEmpty()) {
-                categories.add(budget.getCategory());
+        for (String category : budgetDB.getCategories()) {
+            if (category != null && !category.isEmpty()) {
+                categories.add(category);
             }
         }
 
@@ -119,24 +153,27 @@ public class BudgetingTrackingController {
         header.setStyle("-fx-background-color: #f0f0f0; -fx-border-color: #cccccc; -fx-border-width: 0 0 1 0;");
 
         Label categoryHeader = new Label("Category");
+        Label periodHeader = new Label("Period");
         Label budgetHeader = new Label("Budget Amount");
         Label spentHeader = new Label("Spent");
         Label remainingHeader = new Label("Remaining");
         Label actionsHeader = new Label("Actions");
 
         categoryHeader.setPrefWidth(150);
+        periodHeader.setPrefWidth(160);
         budgetHeader.setPrefWidth(120);
         spentHeader.setPrefWidth(120);
         remainingHeader.setPrefWidth(120);
         actionsHeader.setPrefWidth(180);
 
         categoryHeader.setStyle("-fx-font-weight: bold;");
+        periodHeader.setStyle("-fx-font-weight: bold;");
         budgetHeader.setStyle("-fx-font-weight: bold;");
         spentHeader.setStyle("-fx-font-weight: bold;");
         remainingHeader.setStyle("-fx-font-weight: bold;");
         actionsHeader.setStyle("-fx-font-weight: bold;");
 
-        header.getChildren().addAll(categoryHeader, budgetHeader, spentHeader, remainingHeader, actionsHeader);
+        header.getChildren().addAll(categoryHeader, periodHeader, budgetHeader, spentHeader, remainingHeader, actionsHeader);
 
         return header;
     }
@@ -150,6 +187,7 @@ public class BudgetingTrackingController {
         row.setStyle("-fx-border-color: #cccccc; -fx-border-width: 0 0 1 0;");
 
         Label categoryLabel = new Label(budget.getCategory());
+        Label periodLabel = new Label(describePeriod(budget));
         Label budgetLabel = new Label(String.format("$%.2f", budget.getAmount()));
         Label spentLabel = new Label(String.format("$%.2f", budget.getActual_spend()));
 
@@ -166,31 +204,42 @@ public class BudgetingTrackingController {
 
         
         Button editButton = new Button("Edit");
-        Button updateSpendButton = new Button("Update Spend");
 
         editButton.getStyleClass().add("small-button");
-        updateSpendButton.getStyleClass().add("small-button");
 
         
         editButton.setOnAction(e -> showEditBudgetDialog(budget));
-        updateSpendButton.setOnAction(e -> showUpdateSpendDialog(budget));
 
         
         HBox actionButtons = new HBox(5);
-        actionButtons.getChildren().addAll(editButton, updateSpendButton);
+        actionButtons.getChildren().addAll(editButton);
 
         
         categoryLabel.setPrefWidth(150);
+        periodLabel.setPrefWidth(160);
         budgetLabel.setPrefWidth(120);
         spentLabel.setPrefWidth(120);
         remainingLabel.setPrefWidth(120);
         actionButtons.setPrefWidth(180);
 
-        row.getChildren().addAll(categoryLabel, budgetLabel, spentLabel, remainingLabel, actionButtons);
+        row.getChildren().addAll(categoryLabel, periodLabel, budgetLabel, spentLabel, remainingLabel, actionButtons);
 
         return row;
     }
 
+    /**
+     * Describe the current period of a budget, such as "Monthly: 2024-05-01 to 2024-05-31"
+     */
+    private String describePeriod(Budget budget) {
+        String name = budget.getPeriod() == BudgetPeriod.CUSTOM
+                ? budget.getPeriod_days() + " days"
+                : budget.getPeriod().name().charAt(0) + budget.getPeriod().name().substring(1).toLowerCase();
+        if (budget.getPeriod_start() == null) {
+            return name;
+        }
+        return name + ": " + budget.getPeriod_start() + " to " + budget.getPeriod_end().minusDays(1);
+    }
+
     /**
      * Handle the save budget button click
      */
@@ -228,7 +277,19 @@ public class BudgetingTrackingController {
             }
 
             
+            BudgetPeriod period = periodComboBox.getValue() == null ? BudgetPeriod.MONTHLY : periodComboBox.getValue();
+            int periodDays = 0;
+            if (period == BudgetPeriod.CUSTOM) {
+                periodDays = Integer.parseInt(periodDaysField.getText().trim());
+                if (periodDays <= 0) {
+                    showAlert(Alert.AlertType.ERROR, "Error", "A custom period must last at least one day");
+                    return;
+                }
+            }
+
+            
             Budget newBudget = new Budget(category, amount, 0.0, SessionService.getCurrentUserId());
+            newBudget.setPeriod(period, periodDays);
             newBudget.updateRemainingBudget();
 
             budgetDB.insertToDatabase(newBudget);
@@ -236,6 +297,8 @@ public class BudgetingTrackingController {
             
             categoryComboBox.setValue(null);
             budgetAmountField.clear();
+            periodComboBox.setValue(BudgetPeriod.MONTHLY);
+            periodDaysField.clear();
 
             
             refreshBudgets();
@@ -243,7 +306,7 @@ public class BudgetingTrackingController {
             showAlert(Alert.AlertType.INFORMATION, "Success", "Budget created successfully");
 
         } catch (NumberFormatException ex) {
-            showAlert(Alert.AlertType.ERROR, "Error", "Invalid budget amount. Please enter a valid number.");
+            showAlert(Alert.AlertType.ERROR, "Error", "Invalid number. Please enter a valid budget amount and period length.");
         }
     }
 
@@ -302,72 +365,7 @@ public class BudgetingTrackingController {
 
         result.ifPresent(updatedBudget -> {
             
-            budgetDB.updateBudget(updatedBudget);
-            
-            refreshBudgets();
-        });
-    }
-
-    /**
-     * Show dialog to update spending for a budget
-     */
-    private void showUpdateSpendDialog(Budget budget) {
-        
-        Dialog<Budget> dialog = new Dialog<>();
-        dialog.setTitle("Update Spending");
-        dialog.setHeaderText("Update Spending for " + budget.getCategory());
-
-        
-        ButtonType saveButtonType = new ButtonType("Save", ButtonBar.ButtonData.OK_DONE);
-        dialog.getDialogPane().getButtonTypes().addAll(saveButtonType, ButtonType.CANCEL);
-
-        
-        GridPane grid = new GridPane();
-        grid.setHgap(10);
-        grid.setVgap(10);
-        grid.setPadding(new Insets(20, 150, 10, 10));
-
-        TextField spendField = new TextField(String.valueOf(budget.getActual_spend()));
-
-        grid.add(new Label("Current Budget:"), 0, 0);
-        grid.add(new Label(String.format("$%.2f", budget.getAmount())), 1, 0);
-        grid.add(new Label("Spent So Far:"), 0, 1);
-        grid.add(new Label(String.format("$%.2f", budget.getActual_spend())), 1, 1);
-        grid.add(new Label("New Spent Amount:"), 0, 2);
-        grid.add(spendField, 1, 2);
-
-        dialog.getDialogPane().setContent(grid);
-
-        
-        spendField.requestFocus();
-
-        
-        dialog.setResultConverter(dialogButton -> {
-            if (dialogButton == saveButtonType) {
-                try {
-                    double spend = Double.parseDouble(spendField.getText());
-                    if (spend < 0) {
-                        showAlert(Alert.AlertType.ERROR, "Error", "Spent amount cannot be negative");
-                        return null;
-                    }
-
-                    budget.setActual_spend(spend);
-                    budget.updateRemainingBudget();
-                    return budget;
-                } catch (NumberFormatException ex) {
-                    showAlert(Alert.AlertType.ERROR, "Error", "Invalid amount");
-                    return null;
-                }
-            }
-            return null;
-        });
-
-        
-        Optional<Budget> result = dialog.showAndWait();
-
-        result.ifPresent(updatedBudget -> {
-            
-            budgetDB.updateBudget(updatedBudget);
+            budgetDB.updateAmount(updatedBudget);
             
             refreshBudgets();
         });
@@ -395,5 +393,7 @@ public class BudgetingTrackingController {
     @FXML private VBox budgetsVBox;
     @FXML private ComboBox<String> categoryComboBox;
     @FXML private TextField budgetAmountField;
+    @FXML private ComboBox<BudgetPeriod> periodComboBox;
+    @FXML private TextField periodDaysField;
     @FXML private Label remainingBudgetLabel;
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.example.blanza;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves column labels of a {@link ResultSet} to their 1-based indexes.
+ * <p>
+ * Reading a column by label makes the JDBC driver search for the label on every
+ * call, for every row. A ColumnIndex reads the {@link ResultSetMetaData} once, the
+ * first time a label is requested, and answers all later lookups from a map. An
+ * {@link IndexedResultSetMapper} uses it to resolve its columns once per result set
+ * and then reads every row by index.
+ * <p>
+ * Labels are matched case-insensitively, like {@link ResultSet#findColumn(String)}.
+ * If the same label appears more than once, the first column wins.
+ *
+ * @see IndexedResultSetMapper
+ * @see Database
+ */
+public class ColumnIndex {
+
+    /** The result set whose columns are resolved */
+    private final ResultSet resultSet;
+
+    /** Column indexes by lower-case label, built on first use */
+    private Map<String, Integer> indexes;
+
+    /**
+     * Creates a column index for a result set. The metadata is not read until
+     * the first lookup.
+     *
+     * @param resultSet the result set whose columns are resolved
+     */
+    public ColumnIndex(ResultSet resultSet) {
+        this.resultSet = resultSet;
+    }
+
+    /**
+     * Gets the index of a column.
+     *
+     * @param label the column label, as named in the query
+     * @return the 1-based column index
+     * @throws SQLException if the result set has no column with that label
+     */
+    public int of(String label) throws SQLException {
+        if (indexes == null) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            indexes = new HashMap<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                indexes.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        Integer index = indexes.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Column not found in result set: " + label);
+        }
+        return index;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.blanza;
 
-import io.github.cdimascio.dotenv.Dotenv;
-
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,9 +9,11 @@ import java.util.List;
  * This class implements a generic data access layer that handles common database 
  * operations like connecting to the database, executing queries, and processing results.
  * <p>
- * The class uses environment variables to configure database connections
+ * The class reads the database URL from {@link AppConfig} to configure connections
  * and provides methods for creating tables, executing update queries, and
- * retrieving data through queries.
+ * retrieving data through queries. Queries are referenced by their {@link Query}
+ * constants, which are generated from queries.sql at build time, so a misspelled
+ * query name is a compile error rather than a runtime failure.
  * <p>
  * Specific entity database classes should extend this class and implement
  * the abstract methods for entity-specific database operations.
@@ -21,45 +21,156 @@ import java.util.List;
  * @param <T> The entity type that this database class handles
  */
 public abstract class Database<T> {
-    /** Environment configuration loaded from .env file */
-    private final static Dotenv dotenv = Dotenv.configure().directory(".").load();
-    
-    /** Database URL retrieved from environment configuration */
-    protected final static String DB_URL = dotenv.get("DB_URL");
-    
-    /** Current user ID from the active session */
-    protected final int currentUserId = SessionService.getCurrentUserId();
+    /**
+     * Gets the user that the current call acts for.
+     * <p>
+     * The user is read from {@link SessionService} on every call instead of once when
+     * the object is created, so a data access object created before a login, or kept
+     * by a long-lived manager, always queries the rows of the user whose request or
+     * task is running.
+     *
+     * @return The current user ID, or -1 if no user is logged in
+     */
+    protected static int currentUserId() {
+        return SessionService.getCurrentUserId();
+    }
+
+    /**
+     * Gets the database URL from the current application configuration.
+     * <p>
+     * The URL is read from the in-memory {@link AppConfig} snapshot, so this call
+     * never touches the filesystem and picks up hot-reloaded values.
+     *
+     * @return The JDBC URL of the application database
+     */
+    protected static String getDbUrl() {
+        return AppConfig.get().getDbUrl();
+    }
+
+    /**
+     * Opens a connection to the application database.
+     * <p>
+     * Every data access method obtains its connection here, so connection
+     * handling is defined in a single place for all entity database classes.
+     *
+     * @return A new connection to the database
+     * @throws SQLException If the connection cannot be established
+     */
+    protected static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(getDbUrl());
+    }
 
     /**
      * Creates a database table using the provided SQL query.
-     * Retrieves the SQL query from SQLLoader using the provided key.
      *
-     * @param sql_query_name The key to retrieve the SQL CREATE TABLE query from SQLLoader
+     * @param query The CREATE TABLE query from the query catalogue
      */
-    protected static void createTable(String sql_query_name) {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
-            if (conn != null) {
-                String sql = SQLLoader.get(sql_query_name);
+    protected static void createTable(Query query) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(query.getSql());
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+    }
 
-                Statement stmt = conn.createStatement();
-                stmt.execute(sql);
+    /**
+     * Runs several schema statements on one connection, as a single transaction.
+     * <p>
+     * When the schema already exists the statements do nothing, and opening a
+     * connection for each of them would cost more than running them. A statement
+     * that fails is reported and the remaining statements still run, as they would
+     * through {@link #createTable(Query)} and {@link #migrate(Query)}.
+     *
+     * @param queries The CREATE TABLE, CREATE INDEX and migration queries, in the order to run them
+     */
+    protected static void createSchema(Query... queries) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            for (Query query : queries) {
+                try {
+                    stmt.execute(query.getSql());
+                } catch (SQLException e) {
+                    System.out.println(query.getName() + ": " + e.getMessage());
+                }
             }
+            conn.commit();
         } catch (SQLException e) {
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * Runs a one-off schema or data migration statement.
+     * <p>
+     * Migration queries must be safe to run on every startup, for example by
+     * only touching rows that have not been migrated yet.
+     *
+     * @param query The migration query from the query catalogue
+     */
+    protected static void migrate(Query query) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(query.getSql());
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Runs several statements on one connection as a single transaction.
+     * <p>
+     * The callback's statements are committed together if it returns normally and
+     * rolled back together if it throws.
+     *
+     * @param work The statements to run, given the transaction's connection
+     * @return true if the transaction was committed, false if it was rolled back
+     */
+    protected boolean executeInTransaction(TransactionCallback work) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                work.execute(conn);
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Executes an update SQL query on a connection owned by the caller, typically
+     * inside {@link #executeInTransaction(TransactionCallback)}.
+     *
+     * @param conn The connection to run the query on
+     * @param query The query to execute from the query catalogue
+     * @param setter The StatementSetter to set parameters in the prepared statement
+     * @return The number of rows affected
+     * @throws SQLException If the statement fails
+     */
+    protected static int executeUpdateQuery(Connection conn, Query query, StatementSetter setter) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query.getSql())) {
+            setter.setParameters(stmt);
+            return stmt.executeUpdate();
+        }
+    }
+
     /**
      * Executes an update SQL query (INSERT, UPDATE, DELETE).
-     * The SQL query is retrieved from SQLLoader using the provided key.
      * Parameters for the prepared statement are set using the provided StatementSetter.
      *
-     * @param sql_query_name The key to retrieve the SQL query from SQLLoader
+     * @param query The query to execute from the query catalogue
      * @param setter The StatementSetter to set parameters in the prepared statement
      */
-    protected void executeUpdateQuery(String sql_query_name, StatementSetter setter) {
-        String sql = SQLLoader.get(sql_query_name);
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+    protected void executeUpdateQuery(Query query, StatementSetter setter) {
+        String sql = query.getSql();
+        try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             setter.setParameters(stmt);
             stmt.executeUpdate();
@@ -69,35 +180,165 @@ public abstract class Database<T> {
     }
 
     /**
-     * Executes a SELECT query and maps the results to a list of entities.
-     * The SQL query is retrieved from SQLLoader using the provided key.
-     * Parameters for the prepared statement are set using the provided StatementSetter.
-     * Results are mapped to entity objects using the provided ResultSetMapper.
+     * Executes an INSERT query and returns the key generated for the new row.
+     * <p>
+     * The SQLite driver does not support requesting generated keys when the
+     * statement is prepared, so the key is read with last_insert_rowid() on the
+     * same connection.
      *
-     * @param sqlKey The key to retrieve the SQL query from SQLLoader
+     * @param query The INSERT query from the query catalogue
      * @param setter The StatementSetter to set parameters in the prepared statement
-     * @param mapper The ResultSetMapper to map database results to entity objects
-     * @return A list of entity objects created from the query results
+     * @return The generated id of the inserted row, or -1 if the insert failed
      */
-    protected List<T> executeQuery(String sqlKey, StatementSetter setter, ResultSetMapper<T> mapper) {
-        List<T> results = new ArrayList<>();
-        String sql = SQLLoader.get(sqlKey);
+    protected int executeInsertQuery(Query query, StatementSetter setter) {
+        try (Connection conn = getConnection()) {
+            return executeInsertQuery(conn, query, setter);
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+        return -1;
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Executes an INSERT query on a connection owned by the caller, typically inside
+     * {@link #executeInTransaction(TransactionCallback)}, and returns the key
+     * generated for the new row.
+     *
+     * @param conn The connection to run the query on
+     * @param query The INSERT query from the query catalogue
+     * @param setter The StatementSetter to set parameters in the prepared statement
+     * @return The generated id of the inserted row, or -1 if no row was inserted
+     * @throws SQLException If the statement fails
+     */
+    protected static int executeInsertQuery(Connection conn, Query query, StatementSetter setter) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query.getSql())) {
+            setter.setParameters(stmt);
+            if (stmt.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (Statement keyStmt = conn.createStatement();
+             ResultSet keys = keyStmt.executeQuery("SELECT last_insert_rowid()")) {
+            return keys.next() ? keys.getInt(1) : -1;
+        }
+    }
+
+    /**
+     * Executes a SELECT query and maps the results to a list of objects.
+     * Parameters for the prepared statement are set using the provided StatementSetter.
+     * Results are mapped to objects using the provided ResultSetMapper.
+     * <p>
+     * The mapper is bound to the result set once, before the first row, so mappers
+     * created with {@link ResultSetMapper#indexed(IndexedResultSetMapper)} resolve
+     * their column indexes once per query.
+     * <p>
+     * The mapped type is usually the entity type of this class, but projection
+     * queries may map rows to any type, such as a single column value.
+     *
+     * @param query The SELECT query from the query catalogue
+     * @param setter The StatementSetter to set parameters in the prepared statement
+     * @param mapper The ResultSetMapper to map database results to objects
+     * @param <R> The type each row is mapped to
+     * @return A list of objects created from the query results
+     */
+    protected <R> List<R> executeQuery(Query query, StatementSetter setter, ResultSetMapper<R> mapper) {
+        try (Connection conn = getConnection()) {
+            return executeQuery(conn, query, setter, mapper);
+        } catch (SQLException e) {
+            System.out.println("Database query error: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
 
+    /**
+     * Executes a SELECT query on a connection owned by the caller, typically inside
+     * {@link #executeInTransaction(TransactionCallback)}, and maps the results to a
+     * list of objects.
+     *
+     * @param conn The connection to run the query on
+     * @param query The SELECT query from the query catalogue
+     * @param setter The StatementSetter to set parameters in the prepared statement
+     * @param mapper The ResultSetMapper to map database results to objects
+     * @param <R> The type each row is mapped to
+     * @return A list of objects created from the query results
+     * @throws SQLException If the query fails
+     */
+    protected static <R> List<R> executeQuery(Connection conn, Query query, StatementSetter setter,
+                                              ResultSetMapper<R> mapper) throws SQLException {
+        List<R> results = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query.getSql())) {
             setter.setParameters(stmt);
-            ResultSet rs = stmt.executeQuery();
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMapper<R> rowMapper = mapper.bind(new ColumnIndex(rs));
+                while (rs.next()) {
+                    results.add(rowMapper.map(rs));
+                }
+            }
+        }
+        return results;
+    }
 
-            while (rs.next()) {
-                results.add(mapper.map(rs));
+    /**
+     * Executes a keyset-paginated SELECT query and returns one page of rows.
+     * <p>
+     * The query must order its rows by <code>(page_key, page_id)</code>, select
+     * both as columns under those labels, and end with a <code>LIMIT ?</code>
+     * that the setter binds to <code>pageSize + 1</code>. The extra row is not
+     * returned; it only shows that another page exists. The cursor of the next page
+     * is taken from the last row returned.
+     *
+     * @param query The page query from the query catalogue
+     * @param pageSize The maximum number of rows to return
+     * @param setter The StatementSetter to set parameters, including the cursor and limit
+     * @param mapper The ResultSetMapper to map database results to objects
+     * @param <R> The type each row is mapped to
+     * @return The page, with an empty item list if the query failed
+     */
+    protected <R> Page<R> executePageQuery(Query query, int pageSize, StatementSetter setter, ResultSetMapper<R> mapper) {
+        List<R> items = new ArrayList<>();
+        Object lastKey = null;
+        int lastId = 0;
+        boolean hasMore = false;
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.getSql())) {
+
+            setter.setParameters(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                ColumnIndex columns = new ColumnIndex(rs);
+                ResultSetMapper<R> rowMapper = mapper.bind(columns);
+                int keyColumn = columns.of("page_key");
+                int idColumn = columns.of("page_id");
+                while (rs.next()) {
+                    if (items.size() == pageSize) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(rowMapper.map(rs));
+                    lastKey = rs.getObject(keyColumn);
+                    lastId = rs.getInt(idColumn);
+                }
             }
 
         } catch (SQLException e) {
             System.out.println("Database query error: " + e.getMessage());
         }
 
-        return results;
+        return new Page<>(items, hasMore ? new PageCursor(lastKey, lastId) : null);
+    }
+
+    /**
+     * Executes a SELECT query expected to return at most one row.
+     *
+     * @param query The SELECT query from the query catalogue
+     * @param setter The StatementSetter to set parameters in the prepared statement
+     * @param mapper The ResultSetMapper to map the row
+     * @param <R> The type the row is mapped to
+     * @return The mapped row, or null if the query returned no rows
+     */
+    protected <R> R executeSingleQuery(Query query, StatementSetter setter, ResultSetMapper<R> mapper) {
+        List<R> results = executeQuery(query, setter, mapper);
+        return results.isEmpty() ? null : results.getFirst();
     }
 
     /**
@@ -106,8 +347,9 @@ public abstract class Database<T> {
      * to insert an entity of type T into the appropriate database table.
      *
      * @param entity The entity to insert into the database
+     * @return true if the entity was stored, false if the insert failed
      */
-    public abstract void insertToDatabase(T entity);
+    public abstract boolean insertToDatabase(T entity);
 
     /**
      * Retrieves all entities of type T from the database.
@@ -5,19 +5,38 @@ package com.example.blanza;
  * <p>
  * This utility class is responsible for creating the necessary database tables
  * when the application starts. It calls the appropriate table creation methods
- * in the database classes, passing SQL query keys that are used to retrieve
- * the CREATE TABLE statements from the SQLLoader.
+ * in the database classes, passing the {@link Query} constants of the
+ * CREATE TABLE statements.
  * <p>
  * The tables created include:
  * <ul>
  *   <li>Users table - for storing user account information</li>
+ *   <li>Category and payment method tables - lookup tables the expenses table references by id</li>
  *   <li>Expenses table - for storing user expense records</li>
+ *   <li>Expense dictionary table - for the categories and payment methods each user has used</li>
  *   <li>Budget table - for storing budget configurations</li>
+ *   <li>Budget period spend table - for the spend of every period of every budget</li>
  *   <li>Income table - for storing income records</li>
  *   <li>Reminder table - for storing user reminders</li>
  *   <li>Financial Task table - for storing financial tasks</li>
  * </ul>
  * <p>
+ * The expense, income, reminder and financial task tables also get an index on
+ * <code>(user_id, date, id)</code>, which the keyset-paginated page queries use to
+ * seek directly to the start of a page.
+ * <p>
+ * The budgets table gets an index on <code>(user_id, category)</code>, which every
+ * expense insert and delete uses to adjust the spend of the matching budget, and one
+ * on <code>period_end</code>, which the {@link BudgetRollover} job uses to find the
+ * budgets whose period has ended.
+ * <p>
+ * The statements run in three batches, each on a single connection and in a single
+ * transaction, with the upgrades of a legacy expenses table and of a budgets table
+ * without periods in between. The per-period budget spend of an existing database is
+ * then rebuilt from its expenses, once; the <code>schema_migrations</code> table
+ * records that it was done. On an existing
+ * database this keeps the startup schema check to a few milliseconds.
+ * <p>
  * This class should be called once during application startup to ensure
  * all required database tables exist before data access operations begin.
  */
@@ -26,19 +45,39 @@ public class DatabaseInitializer {
     /**
      * Initializes all database tables for the application.
      * <p>
-     * This method calls the createTable method on each database class,
-     * passing the appropriate SQL query key. The SQL queries are stored
-     * externally and retrieved by the SQLLoader using these keys.
+     * This method runs the CREATE TABLE, CREATE INDEX and migration queries in
+     * dependency order through {@link Database#createSchema(Query...)}. The SQL
+     * queries are stored in queries.sql and compiled into the {@link Query}
+     * catalogue at build time.
      * <p>
      * If the tables already exist, the database will typically ignore
      * the creation request without error.
      */
     public static void initialize() {
-        Database.createTable("create_user_table");
-        ExpenseDB.createTable("create_expenses_table");
-        BudgetDB.createTable("create_budget_table");
-        IncomeDB.createTable("create_income_table");
-        ReminderDB.createTable("create_reminder_table");
-        FinancialTaskDB.createTable("create_financial_task_table");
+        Database.createSchema(
+                Query.CREATE_USER_TABLE,
+                Query.CREATE_CATEGORY_TABLE,
+                Query.CREATE_PAYMENT_METHOD_TABLE,
+                Query.CREATE_EXPENSES_TABLE);
+        new ExpenseDB().upgradeLegacySchema();
+        Database.createSchema(
+                Query.CREATE_EXPENSES_DATE_INDEX,
+                Query.CREATE_EXPENSE_DICTIONARY_TABLE,
+                Query.MIGRATE_BACKFILL_EXPENSE_DICTIONARY,
+                Query.CREATE_BUDGET_TABLE,
+                Query.CREATE_BUDGET_CATEGORY_INDEX,
+                Query.CREATE_SCHEMA_MIGRATIONS_TABLE,
+                Query.CREATE_INCOME_TABLE,
+                Query.CREATE_INCOME_DATE_INDEX,
+                Query.CREATE_REMINDER_TABLE,
+                Query.CREATE_REMINDER_TIME_INDEX,
+                Query.CREATE_FINANCIAL_TASK_TABLE,
+                Query.CREATE_FINANCIAL_TASK_DUE_DATE_INDEX);
+        BudgetDB budgetDB = new BudgetDB();
+        budgetDB.upgradeLegacySchema();
+        Database.createSchema(
+                Query.CREATE_BUDGET_PERIOD_END_INDEX,
+                Query.CREATE_BUDGET_PERIOD_SPEND_TABLE);
+        budgetDB.recomputeSpendOnce();
     }
 }
\ No newline at end of file
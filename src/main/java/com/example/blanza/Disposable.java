@@ -0,0 +1,23 @@
+package com.example.blanza;
+
+/**
+ * Implemented by screen controllers that hold resources beyond their screen, such
+ * as background threads, and must release them when the screen is dropped.
+ * <p>
+ * {@link SceneController} keeps recently used screens loaded and drops them when
+ * they are evicted from its cache, when another user logs in and on logout. A
+ * controller that started work on behalf of its user implements this interface to
+ * stop that work, so it does not outlive the screen or the user's session.
+ *
+ * @see SceneController
+ * @see Reactivatable
+ */
+@FunctionalInterface
+public interface Disposable {
+
+    /**
+     * Called on the JavaFX application thread once, when the screen of this
+     * controller is dropped from the scene cache. The screen is not shown again.
+     */
+    void onDisposed();
+}
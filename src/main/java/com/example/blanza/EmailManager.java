@@ -3,6 +3,7 @@ package com.example.blanza;
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -92,4 +93,24 @@ public class EmailManager {
             System.out.println(e.getMessage());
         }
     }
+
+    /**
+     * Sends a single digest email that lists several entries.
+     * <p>
+     * This is used to coalesce notifications that fall due together into one
+     * message, so that a busy day costs one SMTP connection per recipient rather
+     * than one per notification.
+     *
+     * @param toEmail The recipient's email address
+     * @param subject The subject line of the email
+     * @param intro The line that precedes the list of entries
+     * @param entries The entries to list, one per line
+     */
+    public void sendDigest(String toEmail, String subject, String intro, List<String> entries) {
+        StringBuilder body = new StringBuilder(intro).append("\n");
+        for (String entry : entries) {
+            body.append("\n- ").append(entry);
+        }
+        sendEmail(toEmail, subject, body.toString());
+    }
 }
\ No newline at end of file
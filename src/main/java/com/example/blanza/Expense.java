@@ -16,6 +16,9 @@ import java.time.LocalDate;
  * @see FinancialEntity
  */
 public class Expense extends FinancialEntity {
+    /** The id of the expense row, or 0 if not stored yet */
+    private int id;
+
     /** The category of the expense (e.g., "Food", "Transportation", "Housing") */
     private String category;
     
@@ -25,6 +28,12 @@ public class Expense extends FinancialEntity {
     /** The payment method used for the expense (e.g., "Cash", "Credit Card", "Bank Transfer") */
     private String paymentMethod;
 
+    /** The id of the category in the categories lookup table, or 0 if not stored yet */
+    private int categoryId;
+
+    /** The id of the payment method in the payment_methods lookup table, or 0 if none */
+    private int paymentMethodId;
+
     /**
      * Creates a new Expense with the specified details.
      *
@@ -42,6 +51,24 @@ public class Expense extends FinancialEntity {
         this.paymentMethod = paymentMethod;
     }
 
+    /**
+     * Returns the id of this expense.
+     *
+     * @return The expense id, or 0 if the expense is not stored yet
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the id of this expense.
+     *
+     * @param id The expense id assigned by the database
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Returns the category of this expense.
      *
@@ -58,6 +85,27 @@ public class Expense extends FinancialEntity {
      */
     public void setCategory(String category) {
         this.category = category;
+        this.categoryId = 0;
+    }
+
+    /**
+     * Returns the id of this expense's category in the categories lookup table.
+     * <p>
+     * Aggregations can key on this small integer instead of hashing the name.
+     *
+     * @return The category id, or 0 if the expense has not been stored yet
+     */
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Sets the id of this expense's category in the categories lookup table.
+     *
+     * @param categoryId The category id
+     */
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
     }
 
     /**
@@ -94,5 +142,24 @@ public class Expense extends FinancialEntity {
      */
     public void setPaymentMethod(String paymentMethod) {
         this.paymentMethod = paymentMethod;
+        this.paymentMethodId = 0;
+    }
+
+    /**
+     * Returns the id of this expense's payment method in the payment_methods lookup table.
+     *
+     * @return The payment method id, or 0 if there is none or the expense has not been stored yet
+     */
+    public int getPaymentMethodId() {
+        return paymentMethodId;
+    }
+
+    /**
+     * Sets the id of this expense's payment method in the payment_methods lookup table.
+     *
+     * @param paymentMethodId The payment method id
+     */
+    public void setPaymentMethodId(int paymentMethodId) {
+        this.paymentMethodId = paymentMethodId;
     }
 }
\ No newline at end of file
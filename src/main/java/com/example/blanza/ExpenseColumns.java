@@ -0,0 +1,384 @@
+package com.example.blanza;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Columnar, primitive-array representation of a user's expenses for analytics.
+ * <p>
+ * A {@code List<Expense>} holds one object per expense, each with a boxed
+ * {@link LocalDate} and two String references. Scanning it for a report touches
+ * every object and, with hash-map group-bys, re-hashes every category name. This
+ * class stores the same data as parallel arrays:
+ * <ul>
+ *   <li><code>epochDays</code> - the expense date as days since 1970-01-01</li>
+ *   <li><code>months</code> - the expense month as <code>year * 12 + month - 1</code></li>
+ *   <li><code>cents</code> - the amount in cents</li>
+ *   <li><code>categoryIds</code> and <code>paymentMethodIds</code> - ids in the lookup
+ *       tables, see {@link ExpenseDB}</li>
+ *   <li><code>weights</code> - 1 for an expense, -1 for the removal of one</li>
+ * </ul>
+ * Date-range filters and group-bys run as tight loops over these arrays, indexing
+ * per-category and per-method totals by id, so a report scan allocates nothing per
+ * expense.
+ * <p>
+ * Stores with at least {@link #PARALLEL_THRESHOLD} expenses are summarized on the
+ * common fork/join pool: the index range is split in halves down to
+ * {@link #LEAF_SIZE} expenses, each leaf fills its own {@link ExpenseSummary} and the
+ * partial summaries are merged on the way back up. Smaller stores are summarized on
+ * the calling thread, where the cost of forking would outweigh the gain, as are all
+ * stores on machines where the common pool has a single worker.
+ * <p>
+ * The store is append-only. {@link ExpenseManager} builds it once from the loaded
+ * expenses and appends every expense it saves afterwards. A deleted expense is
+ * not taken out: {@link #remove(Expense)} appends a row with the negated amount and
+ * a weight of -1, which cancels the expense in every total and count it was part
+ * of. The running total is kept up to date on append, and summaries computed
+ * earlier are brought up to date, for new and deleted expenses alike, with
+ * {@link #summarizeAppended(ExpenseSummary, int, int, int)}. The number of rows
+ * grows with every change, so it serves as the {@link #version()} of the store.
+ *
+ * @see ExpenseSummary
+ * @see ExpenseManager
+ */
+public class ExpenseColumns {
+
+    /** Capacity of an empty store */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Number of expenses from which a summary is computed in parallel. The value is
+     * an estimate: the summary benchmark (src/build/java/SummaryBenchmark.java) was
+     * run on a single processor, where the parallel times for two to four workers
+     * are modelled from the measured sequential time and fork/join overhead rather
+     * than measured. The model puts the crossover between 10,000 and 20,000
+     * expenses; the larger bound is used. Rerun the benchmark on a machine with at
+     * least as many processors as workers to measure it.
+     */
+    public static final int PARALLEL_THRESHOLD = 20_000;
+
+    /** Maximum number of expenses summarized by one fork/join leaf task */
+    public static final int LEAF_SIZE = 8_192;
+
+    /** Number of rows in the store, counting removal rows */
+    private int rows;
+
+    /** Number of expenses in the store, not counting removed ones */
+    private int count;
+
+    /** Expense dates as epoch days */
+    private int[] epochDays;
+
+    /** Expense months as <code>year * 12 + month - 1</code> */
+    private int[] months;
+
+    /** Expense amounts in cents */
+    private long[] cents;
+
+    /** Category ids, 0 if unknown */
+    private int[] categoryIds;
+
+    /** Payment method ids, 0 if none */
+    private int[] paymentMethodIds;
+
+    /** Row weights, 1 for an expense and -1 for a removal */
+    private byte[] weights;
+
+    /** Total of all expenses in the store, in cents */
+    private long totalCents;
+
+    /** Highest category id in the store */
+    private int maxCategoryId;
+
+    /** Highest payment method id in the store */
+    private int maxPaymentMethodId;
+
+    /** Earliest month in the store */
+    private int firstMonth = Integer.MAX_VALUE;
+
+    /** Latest month in the store */
+    private int lastMonth = Integer.MIN_VALUE;
+
+    /**
+     * Creates an empty store with room for the given number of expenses.
+     *
+     * @param capacity the initial capacity
+     */
+    public ExpenseColumns(int capacity) {
+        int initial = Math.max(capacity, INITIAL_CAPACITY);
+        epochDays = new int[initial];
+        months = new int[initial];
+        cents = new long[initial];
+        categoryIds = new int[initial];
+        paymentMethodIds = new int[initial];
+        weights = new byte[initial];
+    }
+
+    /**
+     * Builds a store from a list of expenses.
+     *
+     * @param expenses the expenses to store
+     * @return the columnar store
+     */
+    public static ExpenseColumns of(List<Expense> expenses) {
+        ExpenseColumns columns = new ExpenseColumns(expenses.size());
+        for (Expense expense : expenses) {
+            columns.add(expense);
+        }
+        return columns;
+    }
+
+    /**
+     * Appends an expense to the store.
+     *
+     * @param expense the expense to append
+     */
+    public synchronized void add(Expense expense) {
+        append(expense, 1);
+        count++;
+    }
+
+    /**
+     * Removes an expense from the store by appending a row that cancels it.
+     *
+     * @param expense the removed expense, with the date, amount and ids it was added with
+     */
+    public synchronized void remove(Expense expense) {
+        append(expense, -1);
+        count--;
+    }
+
+    /**
+     * Appends a row for an expense, with its amount multiplied by the weight.
+     */
+    private void append(Expense expense, int weight) {
+        if (rows == epochDays.length) {
+            int capacity = rows * 2;
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            months = Arrays.copyOf(months, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            paymentMethodIds = Arrays.copyOf(paymentMethodIds, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        LocalDate date = expense.getDate();
+        int month = monthIndex(date);
+        epochDays[rows] = (int) date.toEpochDay();
+        months[rows] = month;
+        cents[rows] = weight * toCents(expense.getAmount());
+        totalCents += cents[rows];
+        categoryIds[rows] = expense.getCategoryId();
+        paymentMethodIds[rows] = expense.getPaymentMethodId();
+        weights[rows] = (byte) weight;
+
+        maxCategoryId = Math.max(maxCategoryId, expense.getCategoryId());
+        maxPaymentMethodId = Math.max(maxPaymentMethodId, expense.getPaymentMethodId());
+        firstMonth = Math.min(firstMonth, month);
+        lastMonth = Math.max(lastMonth, month);
+        rows++;
+    }
+
+    /**
+     * Gets the number of expenses in the store.
+     *
+     * @return the number of expenses, not counting removed ones
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Gets the version of the store, which changes whenever an expense is added
+     * or removed.
+     *
+     * @return the number of rows in the store
+     */
+    public synchronized int version() {
+        return rows;
+    }
+
+    /**
+     * Gets the total of all expenses in the store.
+     *
+     * @return the total in cents
+     */
+    public synchronized long totalCents() {
+        return totalCents;
+    }
+
+    /**
+     * Aggregates the expenses dated within a range in a single pass.
+     *
+     * @param fromDay the first epoch day of the range, inclusive
+     * @param toDay the last epoch day of the range, inclusive
+     * @param recentFromDay expenses after this epoch day are also counted in the recent totals
+     * @return the aggregated totals
+     */
+    public synchronized ExpenseSummary summarize(int fromDay, int toDay, int recentFromDay) {
+        ExpenseSummary summary;
+        if (rows < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            summary = summarizeRange(0, rows, fromDay, toDay, recentFromDay);
+        } else {
+            summary = ForkJoinPool.commonPool().invoke(new SummarizeTask(0, rows, fromDay, toDay, recentFromDay));
+        }
+        summary.setVersion(rows);
+        return summary;
+    }
+
+    /**
+     * Aggregates the expenses dated within a range on the calling thread, whatever
+     * the size of the store. The summary benchmark uses it to time the sequential path.
+     *
+     * @param fromDay the first epoch day of the range, inclusive
+     * @param toDay the last epoch day of the range, inclusive
+     * @param recentFromDay expenses after this epoch day are also counted in the recent totals
+     * @return the aggregated totals
+     */
+    public synchronized ExpenseSummary summarizeSequential(int fromDay, int toDay, int recentFromDay) {
+        return summarizeRange(0, rows, fromDay, toDay, recentFromDay);
+    }
+
+    /**
+     * Aggregates the expenses dated within a range on a fork/join pool, whatever
+     * the size of the store. The summary benchmark uses it to time the parallel path.
+     *
+     * @param pool the pool to run the tasks on
+     * @param fromDay the first epoch day of the range, inclusive
+     * @param toDay the last epoch day of the range, inclusive
+     * @param recentFromDay expenses after this epoch day are also counted in the recent totals
+     * @return the aggregated totals
+     */
+    public synchronized ExpenseSummary summarizeParallel(ForkJoinPool pool, int fromDay, int toDay, int recentFromDay) {
+        return pool.invoke(new SummarizeTask(0, rows, fromDay, toDay, recentFromDay));
+    }
+
+    /**
+     * Applies the expenses added and removed since a summary was computed to that
+     * summary.
+     * <p>
+     * Only the rows appended after the {@link ExpenseSummary#getVersion() version}
+     * of the summary are visited, so keeping a summary up to date costs time
+     * proportional to the number of changes rather than to the size of the store.
+     *
+     * @param summary the summary to update, computed with the same range
+     * @param fromDay the first epoch day of the range, inclusive
+     * @param toDay the last epoch day of the range, inclusive
+     * @param recentFromDay expenses after this epoch day are also counted in the recent totals
+     */
+    public synchronized void summarizeAppended(ExpenseSummary summary, int fromDay, int toDay, int recentFromDay) {
+        for (int i = summary.getVersion(); i < rows; i++) {
+            int day = epochDays[i];
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            summary.include(months[i], cents[i], categoryIds[i], paymentMethodIds[i], weights[i], day > recentFromDay);
+        }
+        summary.setVersion(rows);
+    }
+
+    /**
+     * Aggregates the expenses at the indexes <code>[start, end)</code> that are
+     * dated within a range.
+     */
+    private ExpenseSummary summarizeRange(int start, int end, int fromDay, int toDay, int recentFromDay) {
+        ExpenseSummary summary = newSummary();
+        for (int i = start; i < end; i++) {
+            int day = epochDays[i];
+            if (day < fromDay || day > toDay) {
+                continue;
+            }
+            summary.add(months[i], cents[i], categoryIds[i], paymentMethodIds[i], weights[i], day > recentFromDay);
+        }
+        return summary;
+    }
+
+    /**
+     * Fork/join task that summarizes an index range by splitting it in halves.
+     * <p>
+     * Tasks only run while a summarize method holds the store's lock,
+     * so the arrays cannot change underneath them.
+     */
+    private class SummarizeTask extends RecursiveTask<ExpenseSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+        private final int fromDay;
+        private final int toDay;
+        private final int recentFromDay;
+
+        SummarizeTask(int start, int end, int fromDay, int toDay, int recentFromDay) {
+            this.start = start;
+            this.end = end;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.recentFromDay = recentFromDay;
+        }
+
+        @Override
+        protected ExpenseSummary compute() {
+            if (end - start <= LEAF_SIZE) {
+                return summarizeRange(start, end, fromDay, toDay, recentFromDay);
+            }
+            int middle = (start + end) >>> 1;
+            SummarizeTask left = new SummarizeTask(start, middle, fromDay, toDay, recentFromDay);
+            left.fork();
+            ExpenseSummary right = new SummarizeTask(middle, end, fromDay, toDay, recentFromDay).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Creates an empty summary sized for the ids and months in this store.
+     */
+    private ExpenseSummary newSummary() {
+        int monthCount = rows == 0 ? 0 : lastMonth - firstMonth + 1;
+        return new ExpenseSummary(maxCategoryId + 1, maxPaymentMethodId + 1,
+                rows == 0 ? 0 : firstMonth, monthCount);
+    }
+
+    /**
+     * Converts a date to its month index.
+     *
+     * @param date the date
+     * @return <code>year * 12 + month - 1</code>
+     */
+    public static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Converts a month index back to a month.
+     *
+     * @param monthIndex the month index
+     * @return the month
+     */
+    public static YearMonth toYearMonth(int monthIndex) {
+        return YearMonth.of(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1);
+    }
+
+    /**
+     * Converts an amount to cents.
+     *
+     * @param amount the amount
+     * @return the amount in cents, rounded to the nearest cent
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Converts cents back to an amount.
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.blanza;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -11,51 +14,355 @@ import java.util.List;
  * the mapping between Expense domain objects and their database representation,
  * including parameter binding for prepared statements and result set parsing.
  * <p>
- * This class uses SQL query templates that are retrieved by key from the SQLLoader.
+ * Categories and payment methods are dictionary-encoded: the expenses table stores
+ * integer ids referencing the <code>categories</code> and <code>payment_methods</code>
+ * lookup tables. Ids are resolved through in-memory {@link LookupTable}s, so all
+ * expenses with the same category share one canonical String instance.
+ * <p>
+ * This class uses SQL query templates that are referenced through the generated {@link Query} catalogue.
  * These SQL query templates include:
  * <ul>
  *   <li><code>insert_expense</code> - For adding new expense records</li>
+ *   <li><code>delete_expense_by_id</code> - For removing an expense record</li>
+ *   <li><code>add_budget_period_spend</code>, <code>add_budget_spend</code> - For keeping
+ *       the spend of the matching budget in step with every insert and delete, in the
+ *       same transaction (see {@link BudgetDB})</li>
  *   <li><code>select_all_expenses</code> - For retrieving all expenses for a user</li>
+ *   <li><code>select_expenses_page</code> - For retrieving one page of a user's expenses
+ *       in <code>(date, id)</code> order</li>
+ *   <li><code>select_expense_totals</code> - For counting and summing a user's expenses</li>
+ *   <li><code>increment_expense_dictionary</code> - For counting category and payment method usage</li>
+ *   <li><code>select_expense_categories</code>, <code>select_expense_payment_methods</code> -
+ *       For reading a user's categories and payment methods, most used first</li>
  * </ul>
  * <p>
- * All database operations in this class are user-specific and rely on the currentUserId
- * that is set on the Database base class.
+ * All database operations in this class are user-specific and act for the user
+ * returned by {@link Database#currentUserId()} at the time of the call.
  *
  * @see Database
  * @see Expense
- * @see SQLLoader
+ * @see Query
  */
 public class ExpenseDB extends Database<Expense> {
+
+    /**
+     * Number and total amount of a user's expenses.
+     */
+    public static class Totals {
+        /** The number of expenses */
+        private final int count;
+
+        /** The sum of the expense amounts */
+        private final double total;
+
+        /**
+         * Creates the totals.
+         *
+         * @param count The number of expenses
+         * @param total The sum of the expense amounts
+         */
+        public Totals(int count, double total) {
+            this.count = count;
+            this.total = total;
+        }
+
+        /**
+         * Gets the number of expenses.
+         *
+         * @return The number of expenses
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of the expense amounts.
+         *
+         * @return The total amount
+         */
+        public double getTotal() {
+            return total;
+        }
+    }
+
+    /** In-memory mirror of the categories lookup table */
+    private static final LookupTable CATEGORIES = new LookupTable();
+
+    /** In-memory mirror of the payment_methods lookup table */
+    private static final LookupTable PAYMENT_METHODS = new LookupTable();
+
+    /**
+     * Steps that convert an expenses table from the old layout, with category and
+     * payment method strings on every row, to the dictionary-encoded layout.
+     */
+    private static final Query[] LEGACY_UPGRADE_STEPS = {
+            Query.UPGRADE_EXPENSES_FILL_CATEGORIES,
+            Query.UPGRADE_EXPENSES_FILL_PAYMENT_METHODS,
+            Query.UPGRADE_EXPENSES_CREATE_ENCODED,
+            Query.UPGRADE_EXPENSES_COPY,
+            Query.UPGRADE_EXPENSES_DROP_LEGACY,
+            Query.UPGRADE_EXPENSES_RENAME
+    };
+
+    /**
+     * Maps an expenses row to an Expense object, reading columns by index.
+     * <p>
+     * Names are taken from the lookup tables by id. The joined name column is only
+     * read the first time an id is seen.
+     */
+    private static final ResultSetMapper<Expense> EXPENSE_MAPPER = ResultSetMapper.indexed(columns -> {
+        int id = columns.of("id");
+        int userId = columns.of("user_id");
+        int categoryId = columns.of("category_id");
+        int category = columns.of("category");
+        int amount = columns.of("amount");
+        int date = columns.of("date");
+        int methodId = columns.of("payment_method_id");
+        int method = columns.of("payment_method");
+
+        return rs -> {
+            int categoryKey = rs.getInt(categoryId);
+            String categoryName = CATEGORIES.name(categoryKey);
+            if (categoryName == null) {
+                categoryName = CATEGORIES.put(categoryKey, rs.getString(category));
+            }
+
+            int methodKey = rs.getInt(methodId);
+            String methodName = null;
+            if (methodKey != 0) {
+                methodName = PAYMENT_METHODS.name(methodKey);
+                if (methodName == null) {
+                    methodName = PAYMENT_METHODS.put(methodKey, rs.getString(method));
+                }
+            }
+
+            Expense expense = new Expense(rs.getInt(userId), categoryName, rs.getDouble(amount),
+                    LocalDate.parse(rs.getString(date)), methodName);
+            expense.setId(rs.getInt(id));
+            expense.setCategoryId(categoryKey);
+            expense.setPaymentMethodId(methodKey);
+            return expense;
+        };
+    });
+
+    /**
+     * Gets the name of a category id that has been read or stored in this session.
+     *
+     * @param id The category id
+     * @return The category name, or null if the id is not known
+     */
+    public static String categoryName(int id) {
+        return CATEGORIES.name(id);
+    }
+
+    /**
+     * Gets the name of a payment method id that has been read or stored in this session.
+     *
+     * @param id The payment method id
+     * @return The payment method name, or null if the id is not known
+     */
+    public static String paymentMethodName(int id) {
+        return PAYMENT_METHODS.name(id);
+    }
+
+    /**
+     * Converts an expenses table created by an older version of the application to
+     * the dictionary-encoded layout.
+     * <p>
+     * The conversion fills the lookup tables from the distinct strings, copies every
+     * row with ids in place of the strings and swaps the tables, all in one
+     * transaction. It does nothing if the table already uses the new layout.
+     */
+    public void upgradeLegacySchema() {
+        Integer legacyColumns = executeSingleQuery(Query.COUNT_LEGACY_EXPENSE_COLUMNS, stmt -> {}, rs -> rs.getInt(1));
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        executeInTransaction(conn -> {
+            for (Query step : LEGACY_UPGRADE_STEPS) {
+                executeUpdateQuery(conn, step, stmt -> {});
+            }
+        });
+    }
+
+    /**
+     * Gets the id of a name in a lookup table, adding the name if it is new.
+     *
+     * @param table The in-memory mirror of the lookup table
+     * @param insert The query that adds the name if it is missing
+     * @param select The query that reads the id of the name
+     * @param name The name to look up
+     * @return The id of the name, or -1 if it could not be stored
+     */
+    private int lookupId(LookupTable table, Query insert, Query select, String name) {
+        int id = table.id(name);
+        if (id > 0) {
+            return id;
+        }
+
+        executeUpdateQuery(insert, stmt -> stmt.setString(1, name));
+        Integer stored = executeSingleQuery(select, stmt -> stmt.setString(1, name), rs -> rs.getInt(1));
+        if (stored == null) {
+            return -1;
+        }
+        table.put(stored, name);
+        return stored;
+    }
     
     /**
      * Inserts a new expense record into the database.
      * <p>
      * This method takes an Expense object and maps its properties to the corresponding
-     * database columns using a prepared statement. The SQL query used is retrieved 
-     * from SQLLoader using the "insert_expense" key.
+     * database columns using a prepared statement. The SQL query used is
+     * {@link Query#INSERT_EXPENSE}. In the same transaction, the usage counts of the
+     * expense's category and payment method in the user's expense dictionary are
+     * incremented, and the amount is added to the spend of the user's budget for the
+     * category, in the period of the expense's date, if there is a budget. Once
+     * committed, the generated id is set on the expense.
      * <p>
      * The following expense properties are stored:
      * <ul>
      *   <li>User ID - to associate the expense with a specific user</li>
-     *   <li>Category - the expense category (e.g., "Food", "Transportation")</li>
+     *   <li>Category - the id of the expense category (e.g., "Food", "Transportation")</li>
      *   <li>Amount - the monetary value of the expense</li>
      *   <li>Date - the date when the expense occurred (stored as string)</li>
-     *   <li>Payment Method - how the expense was paid (e.g., "Cash", "Credit Card")</li>
+     *   <li>Payment Method - the id of how the expense was paid (e.g., "Cash", "Credit Card")</li>
      * </ul>
      *
      * @param e The Expense object to be stored in the database
+     * @return true if the expense was stored
      */
     @Override
-    public void insertToDatabase(Expense e) {
-        executeUpdateQuery("insert_expense", (stmt) -> {
-            stmt.setInt(1, e.getCurrentUserId());
-            stmt.setString(2, e.getCategory());
-            stmt.setDouble(3, e.getAmount());
-            stmt.setString(4, e.getDate().toString());
-            stmt.setString(5, e.getPaymentMethod());
+    public boolean insertToDatabase(Expense e) {
+        int categoryId = lookupId(CATEGORIES, Query.INSERT_CATEGORY, Query.SELECT_CATEGORY_ID, e.getCategory());
+        int paymentMethodId = e.getPaymentMethod() == null ? 0
+                : lookupId(PAYMENT_METHODS, Query.INSERT_PAYMENT_METHOD, Query.SELECT_PAYMENT_METHOD_ID, e.getPaymentMethod());
+        if (categoryId <= 0 || paymentMethodId < 0) {
+            System.out.println("Error: Could not store the category or payment method of the expense");
+            return false;
+        }
+
+        int[] expenseId = new int[1];
+        boolean stored = executeInTransaction(conn -> {
+            expenseId[0] = executeInsertQuery(conn, Query.INSERT_EXPENSE, (stmt) -> {
+                stmt.setInt(1, e.getCurrentUserId());
+                stmt.setInt(2, categoryId);
+                stmt.setDouble(3, e.getAmount());
+                stmt.setString(4, e.getDate().toString());
+                if (paymentMethodId == 0) {
+                    stmt.setNull(5, Types.INTEGER);
+                } else {
+                    stmt.setInt(5, paymentMethodId);
+                }
+            });
+            executeUpdateQuery(conn, Query.INCREMENT_EXPENSE_DICTIONARY, stmt -> {
+                stmt.setInt(1, e.getCurrentUserId());
+                stmt.setString(2, "category");
+                stmt.setString(3, e.getCategory());
+            });
+            if (e.getPaymentMethod() != null) {
+                executeUpdateQuery(conn, Query.INCREMENT_EXPENSE_DICTIONARY, stmt -> {
+                    stmt.setInt(1, e.getCurrentUserId());
+                    stmt.setString(2, "payment_method");
+                    stmt.setString(3, e.getPaymentMethod());
+                });
+            }
+            addBudgetSpend(conn, e, e.getAmount());
+        });
+
+        if (stored) {
+            e.setId(expenseId[0]);
+            e.setCategory(CATEGORIES.name(categoryId));
+            e.setCategoryId(categoryId);
+            if (paymentMethodId != 0) {
+                e.setPaymentMethod(PAYMENT_METHODS.name(paymentMethodId));
+                e.setPaymentMethodId(paymentMethodId);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Deletes an expense of the current user from the database.
+     * <p>
+     * The expense is read and deleted in one transaction. In the same transaction,
+     * the usage counts of its category and payment method in the user's expense
+     * dictionary are decremented, entries no longer used are removed, and its
+     * amount is taken off the spend of the user's budget for its category, so
+     * neither has to be recomputed from the expenses table. Nothing is changed if
+     * the expense does not exist or belongs to another user.
+     * <p>
+     * Callers go through {@link ExpenseManager#delete(int)}, which also updates
+     * the cached expenses and summaries.
+     *
+     * @param expenseId The id of the expense to delete
+     * @return The deleted expense, or null if nothing was deleted
+     */
+    public Expense deleteFromDatabase(int expenseId) {
+        int userId = currentUserId();
+        Expense[] deleted = new Expense[1];
+        boolean committed = executeInTransaction(conn -> {
+            List<Expense> found = executeQuery(conn, Query.SELECT_EXPENSE_BY_ID, stmt -> {
+                stmt.setInt(1, expenseId);
+                stmt.setInt(2, userId);
+            }, EXPENSE_MAPPER);
+            if (found.isEmpty()) {
+                return;
+            }
+            Expense e = found.getFirst();
+            executeUpdateQuery(conn, Query.DELETE_EXPENSE_BY_ID, stmt -> {
+                stmt.setInt(1, expenseId);
+                stmt.setInt(2, userId);
+            });
+            releaseDictionaryEntry(conn, userId, "category", e.getCategory());
+            if (e.getPaymentMethod() != null) {
+                releaseDictionaryEntry(conn, userId, "payment_method", e.getPaymentMethod());
+            }
+            addBudgetSpend(conn, e, -e.getAmount());
+            deleted[0] = e;
+        });
+        return committed ? deleted[0] : null;
+    }
+
+    /**
+     * Decrements the usage count of a value in a user's expense dictionary, on the
+     * connection of a transaction, and removes the entry once it is no longer used.
+     *
+     * @param conn The connection of the transaction
+     * @param userId The user whose dictionary is updated
+     * @param kind The kind of value, "category" or "payment_method"
+     * @param value The category or payment method name
+     * @throws SQLException If the update fails
+     */
+    private static void releaseDictionaryEntry(Connection conn, int userId, String kind, String value)
+            throws SQLException {
+        executeUpdateQuery(conn, Query.DECREMENT_EXPENSE_DICTIONARY, stmt -> {
+            stmt.setInt(1, userId);
+            stmt.setString(2, kind);
+            stmt.setString(3, value);
+        });
+        executeUpdateQuery(conn, Query.DELETE_UNUSED_EXPENSE_DICTIONARY, stmt -> {
+            stmt.setInt(1, userId);
+            stmt.setString(2, kind);
+            stmt.setString(3, value);
         });
     }
 
+    /**
+     * Adds an amount to the spend of the budget matching an expense's user and
+     * category, in the period of the expense's date, on the connection of a transaction.
+     *
+     * @param conn The connection of the transaction
+     * @param e The expense whose budget is adjusted
+     * @param amount The amount to add, negative to remove spend
+     * @throws SQLException If the update fails
+     * @see BudgetDB#addSpend
+     */
+    private static void addBudgetSpend(Connection conn, Expense e, double amount) throws SQLException {
+        BudgetDB.addSpend(conn, e.getCurrentUserId(), e.getCategory(), e.getDate(), amount);
+    }
+
     /**
      * Retrieves all expense records for the current user from the database.
      * <p>
@@ -63,7 +370,7 @@ public class ExpenseDB extends Database<Expense> {
      * set user ID. It maps each database row to an Expense object, converting database
      * column values to the appropriate Java types.
      * <p>
-     * The SQL query used is retrieved from SQLLoader using the "select_all_expenses" key.
+     * The SQL query used is {@link Query#SELECT_ALL_EXPENSES}.
      * <p>
      * If the current user ID is not set or is invalid (less than or equal to 0), 
      * an error message is logged and an empty list is returned.
@@ -72,21 +379,65 @@ public class ExpenseDB extends Database<Expense> {
      */
     @Override
     public List<Expense> getAllFromDatabase() {
-        if (currentUserId <= 0) {
+        if (currentUserId() <= 0) {
             System.err.println("Error: Invalid user ID");
             return List.of();
         }
 
-        return executeQuery("select_all_expenses", stmt -> {
-            stmt.setInt(1, currentUserId);
-        }, rs -> {
-            int id = rs.getInt("id");
-            String category = rs.getString("category");
-            double amount = rs.getDouble("amount");
-            LocalDate date = LocalDate.parse(rs.getString("date"));
-            String method = rs.getString("payment_method");
-            
-            return new Expense(currentUserId, category, amount, date, method);
-        });
+        return executeQuery(Query.SELECT_ALL_EXPENSES, stmt -> {
+            stmt.setInt(1, currentUserId());
+        }, EXPENSE_MAPPER);
+    }
+
+    /**
+     * Retrieves one page of the current user's expenses, ordered by date and id.
+     *
+     * @param after The cursor after which the page starts, {@link PageCursor#FIRST} for the first page
+     * @param pageSize The maximum number of expenses in the page
+     * @return The page of expenses
+     */
+    public Page<Expense> getPage(PageCursor after, int pageSize) {
+        return executePageQuery(Query.SELECT_EXPENSES_PAGE, pageSize, stmt -> {
+            stmt.setInt(1, currentUserId());
+            after.bind(stmt, 2);
+            stmt.setInt(4, pageSize + 1);
+        }, EXPENSE_MAPPER);
+    }
+
+    /**
+     * Counts and sums the current user's expenses in the database, without
+     * loading them.
+     *
+     * @return The number of expenses and their total, or null if the query failed
+     */
+    public Totals getTotals() {
+        return executeSingleQuery(Query.SELECT_EXPENSE_TOTALS, stmt -> stmt.setInt(1, currentUserId()),
+                rs -> new Totals(rs.getInt(1), rs.getDouble(2)));
+    }
+
+    /**
+     * Retrieves the distinct expense categories of the current user.
+     * <p>
+     * The categories are read from the user's expense dictionary, which is kept up
+     * to date on every insert, so the cost depends on the number of distinct
+     * categories rather than on the size of the expense history.
+     *
+     * @return The categories, most used first
+     */
+    public List<String> getCategories() {
+        return executeQuery(Query.SELECT_EXPENSE_CATEGORIES,
+                stmt -> stmt.setInt(1, currentUserId()), rs -> rs.getString(1));
+    }
+
+    /**
+     * Retrieves the distinct payment methods used by the current user.
+     * <p>
+     * Like {@link #getCategories()}, this reads the expense dictionary.
+     *
+     * @return The payment methods, most used first
+     */
+    public List<String> getPaymentMethods() {
+        return executeQuery(Query.SELECT_EXPENSE_PAYMENT_METHODS,
+                stmt -> stmt.setInt(1, currentUserId()), rs -> rs.getString(1));
     }
-}
\ No newline at end of file
+}
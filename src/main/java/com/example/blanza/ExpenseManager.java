@@ -1,6 +1,9 @@
 package com.example.blanza;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages expense-related operations in the Balanza financial management application.
@@ -14,28 +17,86 @@ import java.util.List;
  * operations, ensuring that all expenses are valid before they are stored in the
  * database. It maintains a clear separation between the business logic and data
  * access layers of the application.
+ * <p>
+ * Screens share one manager per user through {@link #forCurrentUser()}, so an
+ * expense added or deleted on one screen reaches the cached aggregates of the
+ * others as a delta instead of forcing them to reload and re-aggregate the whole
+ * history.
  *
  * @see FinancialEntityManager
  * @see Expense
  * @see ExpenseDB
  */
 public class ExpenseManager extends FinancialEntityManager<Expense> {
+    /** Number of period summaries kept up to date */
+    private static final int SUMMARY_CACHE_SIZE = 8;
+
+    /** Number of users whose managers are kept */
+    private static final int SHARED_MANAGER_COUNT = 16;
+
+    /** The managers shared by the screens and API requests of each user, least recently used first */
+    private static final Map<Integer, ExpenseManager> shared = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ExpenseManager> eldest) {
+            return size() > SHARED_MANAGER_COUNT;
+        }
+    };
+
+    /** The user whose expenses this manager holds */
+    private final int userId;
+
     /** The database access object used for expense persistence operations */
     private final ExpenseDB db = new ExpenseDB();
+
+    /** Columnar copy of the loaded expenses, built on first use */
+    private ExpenseColumns columns;
+
+    /** Summaries computed so far, keyed by start day and recent day */
+    private final Map<Long, ExpenseSummary> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ExpenseSummary> eldest) {
+            return size() > SUMMARY_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Creates a manager for the expenses of a user.
+     *
+     * @param userId The user whose expenses the manager holds
+     */
+    private ExpenseManager(int userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Gets the expense manager shared by the screens of the current user.
+     * <p>
+     * A manager is created the first time a user asks for one and kept for the
+     * most recently active users, so the desktop screens and the API requests of
+     * the same user share their cached expenses and summaries.
+     * <p>
+     * The database reads and writes of a manager always act for the user it was
+     * created for, whichever thread or session calls it.
+     *
+     * @return The shared expense manager
+     */
+    public static synchronized ExpenseManager forCurrentUser() {
+        return shared.computeIfAbsent(SessionService.getCurrentUserId(), ExpenseManager::new);
+    }
     
     /**
      * Validates an expense before it can be saved.
      * <p>
      * This method enforces the business rule that expenses must have a
-     * non-negative amount. An expense with a negative amount is considered
-     * invalid and will not be saved to the database.
+     * non-negative, finite amount. An expense with a negative or infinite amount
+     * is considered invalid and will not be saved to the database.
      *
      * @param expense The expense to validate
-     * @return true if the expense is valid (amount >= 0), false otherwise
+     * @return true if the expense is valid (finite and amount >= 0), false otherwise
      */
     @Override
     protected boolean validate(Expense expense) {
-        return expense.getAmount() >= 0;
+        return expense.getAmount() >= 0 && Double.isFinite(expense.getAmount());
     }
 
     /**
@@ -43,26 +104,167 @@ public class ExpenseManager extends FinancialEntityManager<Expense> {
      * <p>
      * This method is called by the parent class after an expense has been
      * validated. It delegates the actual database operation to the ExpenseDB
-     * instance.
+     * instance. Only a stored expense is appended to the columnar store, so the
+     * cached totals and summaries never count a row the database does not have.
      *
      * @param expense The validated expense to save
+     * @return true if the expense was stored
      */
     @Override
-    protected void saveToDatabase(Expense expense) {
-        db.insertToDatabase(expense);
+    protected boolean saveToDatabase(Expense expense) {
+        boolean stored = SessionService.callAs(userId, () -> db.insertToDatabase(expense));
+        if (stored && columns != null) {
+            columns.add(expense);
+        }
+        return stored;
+    }
+
+    /**
+     * Deletes an expense of the user of this manager.
+     * <p>
+     * The expense is removed from the loaded expenses and, through a removal row,
+     * from the columnar store, so the total and the cached summaries are updated
+     * with a negative delta instead of being recomputed.
+     *
+     * @param expenseId The id of the expense to delete
+     * @return true if the expense was deleted, false if it does not exist or
+     *         belongs to another user
+     */
+    public synchronized boolean delete(int expenseId) {
+        Expense deleted = SessionService.callAs(userId, () -> db.deleteFromDatabase(expenseId));
+        if (deleted == null) {
+            return false;
+        }
+        if (isLoaded()) {
+            entities.removeIf(expense -> expense.getId() == expenseId);
+        }
+        if (columns != null) {
+            columns.remove(deleted);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the columnar copy of the current user's expenses.
+     * <p>
+     * The copy is built from {@link #getAll()} the first time it is needed and
+     * every expense saved or deleted through this manager is applied to it afterwards.
+     *
+     * @return The columnar expense store
+     */
+    public synchronized ExpenseColumns getColumns() {
+        if (columns == null) {
+            columns = ExpenseColumns.of(getAll());
+        }
+        return columns;
+    }
+
+    /**
+     * Calculates the sum of all expense amounts.
+     * <p>
+     * Once the expenses are loaded, the total is kept by the columnar store.
+     * Until then it is summed by the database, so screens that only show a page
+     * of expenses do not have to load the whole history for it.
+     *
+     * @return The sum of all expense amounts
+     */
+    @Override
+    public double getTotal() {
+        if (columns != null) {
+            return ExpenseColumns.fromCents(columns.totalCents());
+        }
+        ExpenseDB.Totals totals = SessionService.callAs(userId, db::getTotals);
+        return totals == null ? 0 : totals.getTotal();
+    }
+
+    /**
+     * Counts the current user's expenses, without loading them if they are not
+     * loaded yet.
+     *
+     * @return The number of expenses
+     */
+    public int getCount() {
+        if (columns != null) {
+            return columns.size();
+        }
+        if (isLoaded()) {
+            return getAll().size();
+        }
+        ExpenseDB.Totals totals = SessionService.callAs(userId, db::getTotals);
+        return totals == null ? 0 : totals.getCount();
+    }
+
+    /**
+     * Reads one page of the current user's expenses from the database, ordered
+     * by date and id.
+     *
+     * @param after The cursor after which the page starts
+     * @param pageSize The maximum number of expenses in the page
+     * @return The page of expenses
+     */
+    public Page<Expense> getPage(PageCursor after, int pageSize) {
+        return SessionService.callAs(userId, () -> db.getPage(after, pageSize));
+    }
+
+    /**
+     * Aggregates the expenses dated on or after a start date.
+     * <p>
+     * Summaries are cached. When the same range is asked for again, only the
+     * expenses saved or deleted since the previous call are applied to the cached
+     * summary.
+     * The caller gets a copy of the cached summary, so it can read it on another
+     * thread while the cache is updated.
+     *
+     * @param startDate The first date to include
+     * @param recentAfter Expenses after this date are also counted in the recent totals
+     * @return The aggregated totals
+     */
+    public ExpenseSummary summarize(LocalDate startDate, LocalDate recentAfter) {
+        ExpenseColumns store = getColumns();
+        int fromDay = (int) startDate.toEpochDay();
+        int recentFromDay = (int) recentAfter.toEpochDay();
+        long key = ((long) fromDay << 32) | (recentFromDay & 0xffffffffL);
+
+        synchronized (store) {
+            ExpenseSummary cached = summaries.get(key);
+            if (cached == null) {
+                cached = store.summarize(fromDay, Integer.MAX_VALUE, recentFromDay);
+                summaries.put(key, cached);
+            } else if (cached.getVersion() < store.version()) {
+                store.summarizeAppended(cached, fromDay, Integer.MAX_VALUE, recentFromDay);
+            }
+            return cached.copy();
+        }
     }
     
+    /**
+     * Gets the categories the current user has used, most used first.
+     *
+     * @return The user's expense categories
+     */
+    public List<String> getCategories() {
+        return SessionService.callAs(userId, db::getCategories);
+    }
+
+    /**
+     * Gets the payment methods the current user has used, most used first.
+     *
+     * @return The user's payment methods
+     */
+    public List<String> getPaymentMethods() {
+        return SessionService.callAs(userId, db::getPaymentMethods);
+    }
+
     /**
      * Loads all expenses for the current user from the database.
      * <p>
      * This method retrieves the complete list of expenses associated with
-     * the current user ID from the database. The current user ID must be
-     * properly set in the ExpenseDB instance before calling this method.
+     * the user of this manager from the database.
      *
-     * @return A list of all expenses for the current user
+     * @return A list of all expenses for the user
      */
     @Override
     protected List<Expense> loadFromDatabase() {
-        return db.getAllFromDatabase();
+        return SessionService.callAs(userId, db::getAllFromDatabase);
     }
 }
\ No newline at end of file
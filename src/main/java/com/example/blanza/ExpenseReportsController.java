@@ -2,6 +2,7 @@ package com.example.blanza;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
@@ -10,6 +11,7 @@ import javafx.scene.chart.XYChart;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.GridPane;
 import javafx.stage.FileChooser;
 import java.io.File;
@@ -17,8 +19,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -36,11 +41,36 @@ import java.util.stream.Collectors;
  *   <li>Statistical summaries and key metrics</li>
  *   <li>Data-driven insights about spending patterns</li>
  * </ul>
+ * <p>
+ * Reports are computed by a background {@link Task}, so the dashboard stays
+ * responsive on large expense histories. Selecting another period cancels the
+ * report still in progress, and only the result of the latest request is shown.
+ * <p>
+ * The screen is kept in the scene cache. When it is shown again the report is
+ * recomputed from the shared {@link ExpenseManager}, which keeps its summaries up
+ * to date in memory, so expenses added or deleted in the meantime appear without
+ * a database read.
  */
-public class ExpenseReportsController {
+public class ExpenseReportsController implements Reactivatable {
     /** The expense manager that provides access to expense data */
     private ExpenseManager expenseManager;
     
+    /** Runs report computations one at a time, off the JavaFX application thread */
+    private static final ExecutorService REPORT_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "expense-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The latest report computation; results of earlier ones are discarded */
+    private Task<ExpenseSummary> reportTask;
+
+    /** Start date and trend date of the report currently shown */
+    private String renderedRange;
+
+    /** Version of the expense store the report currently shown covers */
+    private int renderedVersion = -1;
+
     /** Formatter for displaying month and year in charts and reports */
     private final DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM yyyy");
 
@@ -49,15 +79,16 @@ public class ExpenseReportsController {
      * <p>
      * This method:
      * <ul>
-     *   <li>Creates an instance of ExpenseManager to access expense data</li>
+     *   <li>Gets the current user's shared ExpenseManager to access expense data</li>
      *   <li>Initializes the period selection dropdown with available time ranges</li>
      *   <li>Sets the last updated timestamp</li>
-     *   <li>Loads the initial report data</li>
+     *   <li>Loads the initial report data, through {@link #handlePeriodChange()},
+     *       which selecting the initial period fires</li>
      * </ul>
      */
     @FXML
     private void initialize() {
-        expenseManager = new ExpenseManager();
+        expenseManager = ExpenseManager.forCurrentUser();
         
         
         periodComboBox.setItems(FXCollections.observableArrayList(
@@ -67,15 +98,30 @@ public class ExpenseReportsController {
                 "This Year",
                 "All Time"
         ));
-        periodComboBox.setValue("Last Month");
-        
-        
         updateLastUpdatedTime();
         
         
+        periodComboBox.setValue("Last Month");
+    }
+
+    /**
+     * Loads the report for the newly selected time period.
+     * <p>
+     * This method is called when the user selects a period in the dropdown.
+     */
+    @FXML
+    private void handlePeriodChange() {
         loadReportData();
     }
 
+    /**
+     * Brings the report up to date when the cached screen is shown again.
+     */
+    @Override
+    public void onReactivated() {
+        handleRefresh();
+    }
+
     /**
      * Refreshes the report data and updates the last updated timestamp.
      * <p>
@@ -180,60 +226,111 @@ public class ExpenseReportsController {
      * <p>
      * This method:
      * <ul>
-     *   <li>Gets filtered expenses based on the selected period</li>
-     *   <li>Updates all statistical summaries and metrics</li>
-     *   <li>Populates all charts with the filtered data</li>
-     *   <li>Generates data-driven insights about spending patterns</li>
+     *   <li>Cancels the report computation still in progress, if any</li>
+     *   <li>Shows the progress indicator</li>
+     *   <li>Aggregates the expenses of the selected period on a background thread</li>
+     *   <li>Passes the result to {@link #showReport(String, ExpenseSummary)} on the
+     *       JavaFX application thread, unless a newer request has been made since</li>
      * </ul>
+     * <p>
+     * Computations run one at a time, so a request that is cancelled before it
+     * starts is never run at all.
      */
     private void loadReportData() {
-        List<Expense> filteredExpenses = getFilteredExpenses();
+        if (reportTask != null) {
+            reportTask.cancel();
+        }
+
+        LocalDate startDate = getStartDate();
+        LocalDate recentAfter = LocalDate.now().minusDays(30);
+        String range = startDate + "/" + recentAfter;
+
+        Task<ExpenseSummary> task = new Task<>() {
+            @Override
+            protected ExpenseSummary call() {
+                return expenseManager.summarize(startDate, recentAfter);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            if (task == reportTask) {
+                reportProgress.setVisible(false);
+                showReport(range, task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == reportTask) {
+                reportProgress.setVisible(false);
+                System.err.println("Error: Could not compute expense report: " + task.getException().getMessage());
+            }
+        });
+
+        reportTask = task;
+        reportProgress.setVisible(true);
+        REPORT_EXECUTOR.execute(task);
+    }
+
+    /**
+     * Shows a computed report on the dashboard.
+     * <p>
+     * Every expense added or deleted changes the version of the expense store, so
+     * when the range and the store version are the same as in the report already
+     * shown, nothing has changed and the dashboard is left as it is.
+     *
+     * @param range The start date and trend date of the report
+     * @param summary The aggregated expenses of the range
+     */
+    private void showReport(String range, ExpenseSummary summary) {
+        if (range.equals(renderedRange) && summary.getVersion() == renderedVersion) {
+            return;
+        }
+        renderedRange = range;
+        renderedVersion = summary.getVersion();
         
         
-        float total = calculateTotal(filteredExpenses);
+        double total = summary.getTotal();
         totalExpensesLabel.setText(String.format("$%.2f", total));
         
         
-        transactionCountLabel.setText(String.valueOf(filteredExpenses.size()));
+        transactionCountLabel.setText(String.valueOf(summary.getCount()));
         
         
-        float avgTransaction = filteredExpenses.isEmpty() ? 0 : total / filteredExpenses.size();
+        double avgTransaction = summary.getCount() == 0 ? 0 : total / summary.getCount();
         avgTransactionLabel.setText(String.format("$%.2f", avgTransaction));
         
         
-        loadCategoryPieChart(filteredExpenses);
+        loadCategoryPieChart(summary);
         
         
-        loadPaymentMethodPieChart(filteredExpenses);
+        loadPaymentMethodPieChart(summary);
         
         
-        loadMonthlyBarChart(filteredExpenses);
+        loadMonthlyBarChart(summary);
         
         
-        loadCategoryStatsGrid(filteredExpenses);
+        loadCategoryStatsGrid(summary);
         
         
-        loadPaymentMethodStatsGrid(filteredExpenses);
+        loadPaymentMethodStatsGrid(summary);
         
         
-        generateInsights(filteredExpenses);
+        generateInsights(summary);
     }
 
     /**
-     * Gets expenses filtered by the selected time period.
+     * Gets the first date of the selected time period.
      * <p>
      * The time periods available are:
      * <ul>
-     *   <li>Last Month - expenses from the past 30 days</li>
-     *   <li>Last 3 Months - expenses from the past 90 days</li>
-     *   <li>Last 6 Months - expenses from the past 180 days</li>
+     *   <li>Last Month - expenses from the past month</li>
+     *   <li>Last 3 Months - expenses from the past 3 months</li>
+     *   <li>Last 6 Months - expenses from the past 6 months</li>
      *   <li>This Year - expenses from January 1st of the current year</li>
      *   <li>All Time - all recorded expenses</li>
      * </ul>
      *
-     * @return A filtered list of expenses based on the selected time period
+     * @return The first date included in the report
      */
-    private List<Expense> getFilteredExpenses() {
+    private LocalDate getStartDate() {
         String selectedPeriod = periodComboBox.getValue();
         LocalDate startDate = LocalDate.now();
         
@@ -255,50 +352,35 @@ public class ExpenseReportsController {
                 startDate = LocalDate.of(2000, 1, 1); 
                 break;
         }
-        
-        
-        LocalDate finalStartDate = startDate;
-        return expenseManager.getAll().stream()
-                .filter(expense -> expense.getDate().isAfter(finalStartDate) || expense.getDate().isEqual(finalStartDate))
-                .collect(Collectors.toList());
+        return startDate;
     }
-    
+
     /**
-     * Calculates the total amount of all expenses in the provided list.
+     * Gets expenses filtered by the selected time period, for export.
      *
-     * @param expenses The list of expenses to calculate the total for
-     * @return The total amount as a float
+     * @return A filtered list of expenses based on the selected time period
      */
-    private float calculateTotal(List<Expense> expenses) {
-        return (float) expenses.stream()
-                .mapToDouble(Expense::getAmount)
-                .sum();
+    private List<Expense> getFilteredExpenses() {
+        LocalDate startDate = getStartDate();
+        return expenseManager.getAll().stream()
+                .filter(expense -> !expense.getDate().isBefore(startDate))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Loads the category pie chart with data from the filtered expenses.
+     * Loads the category pie chart with the totals of the selected period.
      * <p>
      * This method:
      * <ul>
-     *   <li>Calculates the total amount spent per category</li>
      *   <li>Creates pie chart segments for each category</li>
      *   <li>Adds interactive labels and tooltips to the chart</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to display in the chart
+     * @param summary The aggregated expenses of the selected period
      */
-    private void loadCategoryPieChart(List<Expense> expenses) {
-        Map<String, Double> categoryTotals = new HashMap<>();
-        
-        
-        for (Expense expense : expenses) {
-            String category = expense.getCategory();
-            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0d) + expense.getAmount());
-        }
-        
-        
+    private void loadCategoryPieChart(ExpenseSummary summary) {
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
-        for (Map.Entry<String, Double> entry : categoryTotals.entrySet()) {
+        for (Map.Entry<String, Double> entry : summary.getCategoryTotals().entrySet()) {
             pieChartData.add(new PieChart.Data(entry.getKey(), entry.getValue()));
         }
         
@@ -310,29 +392,19 @@ public class ExpenseReportsController {
     }
 
     /**
-     * Loads the payment method pie chart with data from the filtered expenses.
+     * Loads the payment method pie chart with the totals of the selected period.
      * <p>
      * This method:
      * <ul>
-     *   <li>Calculates the total amount spent per payment method</li>
      *   <li>Creates pie chart segments for each payment method</li>
      *   <li>Adds interactive labels and tooltips to the chart</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to display in the chart
+     * @param summary The aggregated expenses of the selected period
      */
-    private void loadPaymentMethodPieChart(List<Expense> expenses) {
-        Map<String, Double> paymentMethodTotals = new HashMap<>();
-        
-        
-        for (Expense expense : expenses) {
-            String paymentMethod = expense.getPaymentMethod();
-            paymentMethodTotals.put(paymentMethod, paymentMethodTotals.getOrDefault(paymentMethod, 0d) + expense.getAmount());
-        }
-        
-        
+    private void loadPaymentMethodPieChart(ExpenseSummary summary) {
         ObservableList<PieChart.Data> pieChartData = FXCollections.observableArrayList();
-        for (Map.Entry<String, Double> entry : paymentMethodTotals.entrySet()) {
+        for (Map.Entry<String, Double> entry : summary.getPaymentMethodTotals().entrySet()) {
             pieChartData.add(new PieChart.Data(entry.getKey(), entry.getValue()));
         }
         
@@ -378,25 +450,20 @@ public class ExpenseReportsController {
     }
     
     /**
-     * Loads the monthly bar chart with data from the filtered expenses.
+     * Loads the monthly bar chart with the totals of the selected period.
      * <p>
      * This method:
      * <ul>
-     *   <li>Calculates the total amount spent per month</li>
-     *   <li>Creates bar chart columns for each month</li>
-     *   <li>Sorts months chronologically</li>
+     *   <li>Creates bar chart columns for each month, in chronological order</li>
      *   <li>Updates monthly statistics (average, highest, lowest)</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to display in the chart
+     * @param summary The aggregated expenses of the selected period
      */
-    private void loadMonthlyBarChart(List<Expense> expenses) {
-        Map<String, Double> monthlyTotals = new HashMap<>();
-        
-        
-        for (Expense expense : expenses) {
-            String monthYear = expense.getDate().format(monthFormatter);
-            monthlyTotals.put(monthYear, monthlyTotals.getOrDefault(monthYear, 0d) + expense.getAmount());
+    private void loadMonthlyBarChart(ExpenseSummary summary) {
+        Map<String, Double> monthlyTotals = new LinkedHashMap<>();
+        for (Map.Entry<YearMonth, Double> entry : summary.getMonthlyTotals().entrySet()) {
+            monthlyTotals.put(entry.getKey().format(monthFormatter), entry.getValue());
         }
         
         
@@ -404,17 +471,7 @@ public class ExpenseReportsController {
         series.setName("Monthly Expenses");
         
         
-        List<String> sortedMonths = monthlyTotals.keySet().stream()
-                .sorted((m1, m2) -> {
-                    try {
-                        return LocalDate.parse("01 " + m1, DateTimeFormatter.ofPattern("dd MMM yyyy"))
-                                .compareTo(LocalDate.parse("01 " + m2, DateTimeFormatter.ofPattern("dd MMM yyyy")));
-                    } catch (Exception e) {
-                        return m1.compareTo(m2);
-                    }
-                })
-                .collect(Collectors.toList());
-        
+        List<String> sortedMonths = new ArrayList<>(monthlyTotals.keySet());
         for (String month : sortedMonths) {
             series.getData().add(new XYChart.Data<>(month, monthlyTotals.get(month)));
         }
@@ -473,42 +530,34 @@ public class ExpenseReportsController {
     }
     
     /**
-     * Loads the category statistics grid with data from the filtered expenses.
+     * Loads the category statistics grid with the totals of the selected period.
      * <p>
      * This method:
      * <ul>
-     *   <li>Calculates total amount spent per category</li>
      *   <li>Sorts categories by total amount (descending)</li>
      *   <li>Displays top categories with amounts and percentages</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to analyze
+     * @param summary The aggregated expenses of the selected period
      */
-    private void loadCategoryStatsGrid(List<Expense> expenses) {
+    private void loadCategoryStatsGrid(ExpenseSummary summary) {
         
         categoryStatsGrid.getChildren().clear();
         
-        if (expenses.isEmpty()) {
+        if (summary.getCount() == 0) {
             Label noDataLabel = new Label("No data available");
             categoryStatsGrid.add(noDataLabel, 0, 0, 2, 1);
             return;
         }
         
         
-        Map<String, Double> categoryTotals = new HashMap<>();
-        for (Expense expense : expenses) {
-            String category = expense.getCategory();
-            categoryTotals.put(category, categoryTotals.getOrDefault(category, 0d) + expense.getAmount());
-        }
-        
-        
-        List<Map.Entry<String, Double>> sortedEntries = categoryTotals.entrySet().stream()
+        List<Map.Entry<String, Double>> sortedEntries = summary.getCategoryTotals().entrySet().stream()
                 .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
                 .limit(5)
                 .toList();
         
         
-        float total = calculateTotal(expenses);
+        double total = summary.getTotal();
         int row = 0;
         for (Map.Entry<String, Double> entry : sortedEntries) {
             String category = entry.getKey();
@@ -529,41 +578,33 @@ public class ExpenseReportsController {
     }
     
     /**
-     * Loads the payment method statistics grid with data from the filtered expenses.
+     * Loads the payment method statistics grid with the totals of the selected period.
      * <p>
      * This method:
      * <ul>
-     *   <li>Calculates total amount spent per payment method</li>
      *   <li>Sorts payment methods by total amount (descending)</li>
      *   <li>Displays all payment methods with amounts and percentages</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to analyze
+     * @param summary The aggregated expenses of the selected period
      */
-    private void loadPaymentMethodStatsGrid(List<Expense> expenses) {
+    private void loadPaymentMethodStatsGrid(ExpenseSummary summary) {
         
         paymentStatsGrid.getChildren().clear();
         
-        if (expenses.isEmpty()) {
+        if (summary.getCount() == 0) {
             Label noDataLabel = new Label("No data available");
             paymentStatsGrid.add(noDataLabel, 0, 0, 2, 1);
             return;
         }
         
         
-        Map<String, Double> paymentTotals = new HashMap<>();
-        for (Expense expense : expenses) {
-            String paymentMethod = expense.getPaymentMethod();
-            paymentTotals.put(paymentMethod, paymentTotals.getOrDefault(paymentMethod, 0d) + expense.getAmount());
-        }
-        
-        
-        List<Map.Entry<String, Double>> sortedEntries = paymentTotals.entrySet().stream().
-                sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+        List<Map.Entry<String, Double>> sortedEntries = summary.getPaymentMethodTotals().entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
                 .collect(Collectors.toList());
         
         
-        double total = calculateTotal(expenses);
+        double total = summary.getTotal();
         int row = 0;
         for (Map.Entry<String, Double> entry : sortedEntries) {
             String paymentMethod = entry.getKey();
@@ -594,29 +635,22 @@ public class ExpenseReportsController {
      *   <li>Generates user-friendly insights as text</li>
      * </ul>
      *
-     * @param expenses The filtered list of expenses to analyze
+     * @param summary The aggregated expenses of the selected period
      */
-    private void generateInsights(List<Expense> expenses) {
-        if (expenses.isEmpty()) {
+    private void generateInsights(ExpenseSummary summary) {
+        if (summary.getCount() == 0) {
             categoryInsightsLabel.setText("No expense data available for the selected period.");
             paymentInsightsLabel.setText("No payment data available for the selected period.");
             return;
         }
         
         
-        Map<String, Double> categoryTotals = new HashMap<>();
-        for (Expense expense : expenses) {
-            categoryTotals.put(expense.getCategory(), 
-                categoryTotals.getOrDefault(expense.getCategory(), 0d) + expense.getAmount());
-        }
-        
-        
-        Map.Entry<String, Double> highestCategory = categoryTotals.entrySet().stream()
+        Map.Entry<String, Double> highestCategory = summary.getCategoryTotals().entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .orElse(null);
                 
         if (highestCategory != null) {
-            double total = calculateTotal(expenses);
+            double total = summary.getTotal();
             double percentage = (highestCategory.getValue() / total) * 100;
             
             StringBuilder insight = new StringBuilder();
@@ -625,19 +659,10 @@ public class ExpenseReportsController {
             insight.append(String.format("representing %.1f%% of your total spending. ", percentage));
             
             
-            if (expenses.size() > 10) {
-                LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-                
-                double recentTotal = expenses.stream()
-                    .filter(e -> e.getDate().isAfter(thirtyDaysAgo))
-                    .map(Expense::getAmount)
-                    .reduce(0d, Double::sum);
-                    
-                double recentCategoryTotal = expenses.stream()
-                    .filter(e -> e.getDate().isAfter(thirtyDaysAgo) && 
-                           e.getCategory().equals(highestCategory.getKey()))
-                    .map(Expense::getAmount)
-                    .reduce(0d, Double::sum);
+            if (summary.getCount() > 10) {
+                double recentTotal = summary.getRecentTotal();
+                double recentCategoryTotal = summary.getRecentCategoryTotals()
+                    .getOrDefault(highestCategory.getKey(), 0d);
                 
                 double recentPercentage = recentTotal > 0 ? (recentCategoryTotal / recentTotal) * 100 : 0;
                 
@@ -654,14 +679,8 @@ public class ExpenseReportsController {
         }
         
         
-        Map<String, Double> paymentTotals = new HashMap<>();
-        Map<String, Integer> paymentCounts = new HashMap<>();
-        
-        for (Expense expense : expenses) {
-            String method = expense.getPaymentMethod();
-            paymentTotals.put(method, paymentTotals.getOrDefault(method, 0d) + expense.getAmount());
-            paymentCounts.put(method, paymentCounts.getOrDefault(method, 0) + 1);
-        }
+        Map<String, Double> paymentTotals = summary.getPaymentMethodTotals();
+        Map<String, Integer> paymentCounts = summary.getPaymentMethodCounts();
         
         
         Map.Entry<String, Integer> mostUsedMethod = paymentCounts.entrySet().stream()
@@ -679,8 +698,8 @@ public class ExpenseReportsController {
             if (mostUsedMethod.getKey().equals(highestPaymentMethod.getKey())) {
                 insight.append(String.format("You primarily use %s for payments, ", mostUsedMethod.getKey()));
                 insight.append(String.format("accounting for %d out of %d transactions (%d%%). ", 
-                    mostUsedMethod.getValue(), expenses.size(), 
-                    (mostUsedMethod.getValue() * 100 / expenses.size())));
+                    mostUsedMethod.getValue(), summary.getCount(), 
+                    (mostUsedMethod.getValue() * 100 / summary.getCount())));
             } else {
                 insight.append(String.format("You use %s most frequently (%d times), ", 
                     mostUsedMethod.getKey(), mostUsedMethod.getValue()));
@@ -706,6 +725,9 @@ public class ExpenseReportsController {
     /** Dropdown for selecting the time period for the report */
     @FXML private ComboBox<String> periodComboBox;
     
+    /** Indicator shown while a report is being computed */
+    @FXML private ProgressIndicator reportProgress;
+    
     /** Label displaying the total expenses for the selected period */
     @FXML private Label totalExpensesLabel;
     
@@ -0,0 +1,315 @@
+package com.example.blanza;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregated totals of a set of expenses, as used by the expense reports.
+ * <p>
+ * A summary is filled by {@link ExpenseColumns#summarize(int, int, int)} in one pass
+ * over the columnar store. Per-category and per-method totals are kept in arrays
+ * indexed by lookup table id and monthly totals in an array indexed by month, so
+ * adding an expense is a handful of array updates. The getters translate ids back to
+ * names for display.
+ * <p>
+ * Summaries of disjoint parts of the same store can be combined with
+ * {@link #merge(ExpenseSummary)}, which lets large stores be summarized in parallel.
+ * Expenses added to or removed from the store later are applied with
+ * {@link #include(int, long, int, int, int, boolean)}, which grows the arrays when
+ * the expense has a new id or falls outside the months covered so far. A summary
+ * records the {@link ExpenseColumns#version() version} of the store it covers.
+ *
+ * @see ExpenseColumns
+ * @see ExpenseReportsController
+ */
+public class ExpenseSummary {
+
+    /** Label used for expenses whose category is not known */
+    private static final String UNKNOWN_CATEGORY = "Uncategorized";
+
+    /** Label used for expenses without a payment method */
+    private static final String UNKNOWN_PAYMENT_METHOD = "Unspecified";
+
+    /** Number of expenses added */
+    private int count;
+
+    /** Total of the expenses added, in cents */
+    private long totalCents;
+
+    /** Totals in cents by category id */
+    private long[] categoryCents;
+
+    /** Totals in cents by payment method id */
+    private long[] paymentMethodCents;
+
+    /** Number of expenses by payment method id */
+    private int[] paymentMethodCounts;
+
+    /** Month index of the first entry of {@link #monthCents} */
+    private int firstMonth;
+
+    /** Totals in cents by month, starting at {@link #firstMonth} */
+    private long[] monthCents;
+
+    /** Total of the recent expenses, in cents */
+    private long recentCents;
+
+    /** Totals of the recent expenses in cents by category id */
+    private long[] recentCategoryCents;
+
+    /** Version of the store the summary covers */
+    private int version;
+
+    /**
+     * Creates an empty summary.
+     *
+     * @param categorySlots number of category ids, including 0
+     * @param paymentMethodSlots number of payment method ids, including 0
+     * @param firstMonth month index of the earliest month that can be added
+     * @param monthCount number of months that can be added
+     */
+    public ExpenseSummary(int categorySlots, int paymentMethodSlots, int firstMonth, int monthCount) {
+        this.categoryCents = new long[categorySlots];
+        this.paymentMethodCents = new long[paymentMethodSlots];
+        this.paymentMethodCounts = new int[paymentMethodSlots];
+        this.firstMonth = firstMonth;
+        this.monthCents = new long[monthCount];
+        this.recentCategoryCents = new long[categorySlots];
+    }
+
+    /**
+     * Adds one row of the store to the summary. A removal row carries the negated
+     * amount and a weight of -1, so it takes the expense back out.
+     *
+     * @param month the month index of the expense
+     * @param cents the amount in cents
+     * @param categoryId the category id
+     * @param paymentMethodId the payment method id
+     * @param weight 1 for an expense, -1 for a removal
+     * @param recent whether the expense counts towards the recent totals
+     */
+    void add(int month, long cents, int categoryId, int paymentMethodId, int weight, boolean recent) {
+        count += weight;
+        totalCents += cents;
+        categoryCents[categoryId] += cents;
+        paymentMethodCents[paymentMethodId] += cents;
+        paymentMethodCounts[paymentMethodId] += weight;
+        monthCents[month - firstMonth] += cents;
+        if (recent) {
+            recentCents += cents;
+            recentCategoryCents[categoryId] += cents;
+        }
+    }
+
+    /**
+     * Adds one row of the store to the summary, growing the arrays if needed.
+     *
+     * @param month the month index of the expense
+     * @param cents the amount in cents
+     * @param categoryId the category id
+     * @param paymentMethodId the payment method id
+     * @param weight 1 for an expense, -1 for a removal
+     * @param recent whether the expense counts towards the recent totals
+     */
+    void include(int month, long cents, int categoryId, int paymentMethodId, int weight, boolean recent) {
+        if (categoryId >= categoryCents.length) {
+            categoryCents = Arrays.copyOf(categoryCents, categoryId + 1);
+            recentCategoryCents = Arrays.copyOf(recentCategoryCents, categoryId + 1);
+        }
+        if (paymentMethodId >= paymentMethodCents.length) {
+            paymentMethodCents = Arrays.copyOf(paymentMethodCents, paymentMethodId + 1);
+            paymentMethodCounts = Arrays.copyOf(paymentMethodCounts, paymentMethodId + 1);
+        }
+        if (monthCents.length == 0) {
+            firstMonth = month;
+            monthCents = new long[1];
+        } else if (month < firstMonth) {
+            long[] grown = new long[monthCents.length + firstMonth - month];
+            System.arraycopy(monthCents, 0, grown, firstMonth - month, monthCents.length);
+            monthCents = grown;
+            firstMonth = month;
+        } else if (month - firstMonth >= monthCents.length) {
+            monthCents = Arrays.copyOf(monthCents, month - firstMonth + 1);
+        }
+        add(month, cents, categoryId, paymentMethodId, weight, recent);
+    }
+
+    /**
+     * Adds the totals of another summary of the same store to this one.
+     * <p>
+     * Both summaries must have been created for the same store, so that their
+     * arrays cover the same ids and months.
+     *
+     * @param other the summary to add
+     * @return this summary
+     */
+    ExpenseSummary merge(ExpenseSummary other) {
+        count += other.count;
+        totalCents += other.totalCents;
+        recentCents += other.recentCents;
+        for (int id = 0; id < categoryCents.length; id++) {
+            categoryCents[id] += other.categoryCents[id];
+            recentCategoryCents[id] += other.recentCategoryCents[id];
+        }
+        for (int id = 0; id < paymentMethodCents.length; id++) {
+            paymentMethodCents[id] += other.paymentMethodCents[id];
+            paymentMethodCounts[id] += other.paymentMethodCounts[id];
+        }
+        for (int i = 0; i < monthCents.length; i++) {
+            monthCents[i] += other.monthCents[i];
+        }
+        return this;
+    }
+
+    /**
+     * Creates an independent copy of this summary.
+     *
+     * @return the copy
+     */
+    ExpenseSummary copy() {
+        ExpenseSummary copy = new ExpenseSummary(0, 0, firstMonth, 0);
+        copy.count = count;
+        copy.totalCents = totalCents;
+        copy.recentCents = recentCents;
+        copy.categoryCents = categoryCents.clone();
+        copy.recentCategoryCents = recentCategoryCents.clone();
+        copy.paymentMethodCents = paymentMethodCents.clone();
+        copy.paymentMethodCounts = paymentMethodCounts.clone();
+        copy.monthCents = monthCents.clone();
+        copy.version = version;
+        return copy;
+    }
+
+    /**
+     * Gets the version of the store the summary covers. Two summaries of the same
+     * range with the same version have the same totals.
+     *
+     * @return the number of store rows included in the summary
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Records the version of the store the summary covers.
+     *
+     * @param version the number of store rows included in the summary
+     */
+    void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets the number of expenses in the summary.
+     *
+     * @return the number of expenses
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the total of the expenses in the summary.
+     *
+     * @return the total amount
+     */
+    public double getTotal() {
+        return ExpenseColumns.fromCents(totalCents);
+    }
+
+    /**
+     * Gets the total of the recent expenses in the summary.
+     *
+     * @return the recent total amount
+     */
+    public double getRecentTotal() {
+        return ExpenseColumns.fromCents(recentCents);
+    }
+
+    /**
+     * Gets the totals per category, for categories with at least one expense.
+     *
+     * @return totals by category name
+     */
+    public Map<String, Double> getCategoryTotals() {
+        return byCategory(categoryCents);
+    }
+
+    /**
+     * Gets the totals of the recent expenses per category.
+     *
+     * @return recent totals by category name
+     */
+    public Map<String, Double> getRecentCategoryTotals() {
+        return byCategory(recentCategoryCents);
+    }
+
+    /**
+     * Gets the totals per payment method, for methods with at least one expense.
+     *
+     * @return totals by payment method name
+     */
+    public Map<String, Double> getPaymentMethodTotals() {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (int id = 0; id < paymentMethodCents.length; id++) {
+            if (paymentMethodCounts[id] > 0) {
+                totals.merge(paymentMethodName(id), ExpenseColumns.fromCents(paymentMethodCents[id]), Double::sum);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the number of expenses per payment method.
+     *
+     * @return expense counts by payment method name
+     */
+    public Map<String, Integer> getPaymentMethodCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int id = 0; id < paymentMethodCounts.length; id++) {
+            if (paymentMethodCounts[id] > 0) {
+                counts.merge(paymentMethodName(id), paymentMethodCounts[id], Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the totals per month, in chronological order, for months with expenses.
+     *
+     * @return totals by month
+     */
+    public Map<YearMonth, Double> getMonthlyTotals() {
+        Map<YearMonth, Double> totals = new LinkedHashMap<>();
+        for (int i = 0; i < monthCents.length; i++) {
+            if (monthCents[i] != 0) {
+                totals.put(ExpenseColumns.toYearMonth(firstMonth + i), ExpenseColumns.fromCents(monthCents[i]));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Translates per-category cents into totals by category name.
+     */
+    private Map<String, Double> byCategory(long[] centsById) {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (int id = 0; id < centsById.length; id++) {
+            if (centsById[id] != 0) {
+                String name = ExpenseDB.categoryName(id);
+                totals.merge(name == null ? UNKNOWN_CATEGORY : name, ExpenseColumns.fromCents(centsById[id]), Double::sum);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Gets the display name of a payment method id.
+     */
+    private static String paymentMethodName(int id) {
+        String name = ExpenseDB.paymentMethodName(id);
+        return name == null ? UNKNOWN_PAYMENT_METHOD : name;
+    }
+}
@@ -21,7 +21,9 @@ import java.util.List;
  * for different types of financial entities.
  * <p>
  * The manager maintains an in-memory cache of entities and handles the synchronization
- * between the cache and the persistent storage.
+ * between the cache and the persistent storage. Loading and adding entities are
+ * synchronized on the manager, so a manager shared between screens and API request
+ * threads can be used from any thread.
  *
  * @param <T> The type of financial entity managed by this class, must extend FinancialEntity
  *
@@ -35,23 +37,37 @@ public abstract class FinancialEntityManager<T extends FinancialEntity> {
      * This list is lazy-loaded from the database when first accessed.
      */
     protected List<T> entities = new ArrayList<>();
+
+    /** Whether {@link #entities} has been loaded from the database */
+    private boolean loaded;
     
     /**
      * Retrieves all financial entities managed by this class.
      * <p>
-     * If the in-memory cache is empty, this method triggers a database load
-     * operation to populate the cache before returning the entities. This lazy
-     * loading approach helps minimize database access and improve performance.
+     * The first call triggers a database load operation to populate the cache
+     * before returning the entities. This lazy loading approach helps minimize
+     * database access and improve performance, and lets screens that only show a
+     * page of entities at a time avoid loading the whole table.
      *
      * @return A list of all financial entities of type T
      */
-    public List<T> getAll() {
+    public synchronized List<T> getAll() {
         
-        if (entities.isEmpty()) {
-            entities = loadFromDatabase();
+        if (!loaded) {
+            entities = new ArrayList<>(loadFromDatabase());
+            loaded = true;
         }
         return entities;
     }
+
+    /**
+     * Indicates whether the entities have been loaded into the in-memory cache.
+     *
+     * @return true once {@link #getAll()} has loaded the entities
+     */
+    protected synchronized boolean isLoaded() {
+        return loaded;
+    }
     
     /**
      * Calculates the sum of all financial entity amounts.
@@ -74,20 +90,25 @@ public abstract class FinancialEntityManager<T extends FinancialEntity> {
      * This method:
      * <ol>
      *   <li>Validates the entity using the subclass-specific validation rules</li>
-     *   <li>If valid, adds it to the in-memory cache</li>
-     *   <li>Persists the entity to the database</li>
+     *   <li>If valid, persists the entity to the database</li>
+     *   <li>If stored, adds it to the in-memory cache, if the cache has been loaded</li>
      * </ol>
      * <p>
-     * The entity will not be added if validation fails. No error is explicitly
-     * thrown, but the entity will not appear in subsequent calls to {@link #getAll()}.
+     * The entity will not be added if validation or the insert fails. No error is
+     * explicitly thrown, but the entity will not appear in subsequent calls to
+     * {@link #getAll()}.
      *
      * @param entity The financial entity to add
+     * @return true if the entity was valid and stored, false otherwise
      */
-    public void addEntity(T entity) {
-        if (validate(entity)) {
+    public synchronized boolean addEntity(T entity) {
+        if (!validate(entity) || !saveToDatabase(entity)) {
+            return false;
+        }
+        if (loaded) {
             entities.add(entity);
-            saveToDatabase(entity);
         }
+        return true;
     }
     
     /**
@@ -112,8 +133,9 @@ public abstract class FinancialEntityManager<T extends FinancialEntity> {
      * the {@link #addEntity(FinancialEntity)} method.
      *
      * @param entity The validated financial entity to save
+     * @return true if the entity was stored, false if the insert failed
      */
-    protected abstract void saveToDatabase(T entity);
+    protected abstract boolean saveToDatabase(T entity);
     
     /**
      * Loads financial entities from the persistent storage.
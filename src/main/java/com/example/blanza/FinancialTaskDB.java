@@ -9,20 +9,40 @@ import java.util.List;
  * Handles database operations for financial tasks.
  */
 public class FinancialTaskDB extends Database<FinancialTask> {
+    /**
+     * Maps a financial_tasks row to a FinancialTask object, reading columns by index.
+     */
+    private static final ResultSetMapper<FinancialTask> TASK_MAPPER = ResultSetMapper.indexed(columns -> {
+        int id = columns.of("id");
+        int userId = columns.of("user_id");
+        int title = columns.of("title");
+        int description = columns.of("description");
+        int dueDate = columns.of("due_date");
+        int amount = columns.of("amount");
+        int category = columns.of("category");
+        int status = columns.of("status");
+
+        return rs -> new FinancialTask(rs.getInt(id), rs.getInt(userId), rs.getString(title),
+                rs.getString(description), rs.getDate(dueDate).toLocalDate(), rs.getDouble(amount),
+                rs.getString(category), FinancialTask.TaskStatus.valueOf(rs.getString(status)));
+    });
+
     /**
      * Insert financial task into database.
+     *
+     * @return true if the task was stored
      **/
     @Override
-    public void insertToDatabase(FinancialTask financialTask) {
-        executeUpdateQuery("insert_financial_task", (stmt -> {
-            stmt.setInt(1, currentUserId);
+    public boolean insertToDatabase(FinancialTask financialTask) {
+        return executeInsertQuery(Query.INSERT_FINANCIAL_TASK, (stmt -> {
+            stmt.setInt(1, currentUserId());
             stmt.setString(2, financialTask.getTitle());
             stmt.setString(3, financialTask.getDescription());
             stmt.setDate(4, Date.valueOf(financialTask.getDueDate()));
             stmt.setDouble(5, financialTask.getAmount());
             stmt.setString(6, financialTask.getCategory());
             stmt.setString(7, financialTask.getStatus().name());
-        }));
+        })) > 0;
     }   
 
     /**
@@ -31,7 +51,7 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      * @param financialTask the financial task to delete
      */
     public void deleteFinancialTask(FinancialTask financialTask) {
-        executeUpdateQuery("delete_financial_task", stmt -> {
+        executeUpdateQuery(Query.DELETE_FINANCIAL_TASK, stmt -> {
             stmt.setInt(1, financialTask.getId());
         });
     }
@@ -43,23 +63,28 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      */
     @Override
     public List<FinancialTask> getAllFromDatabase() {
-        if (currentUserId <= 0) {
+        if (currentUserId() <= 0) {
             System.err.println("Error: Invalid user ID");
             return List.of();
         }
-        return executeQuery("get_financial_task_by_id", stmt -> {
-            stmt.setInt(1, currentUserId);
-        }, rs -> {
-            int id = rs.getInt("id");
-            String title = rs.getString("title");
-            String description = rs.getString("description");
-            LocalDate dueDate = rs.getDate("due_date").toLocalDate();
-            double amount = rs.getDouble("amount");
-            String category = rs.getString("category");
-            FinancialTask.TaskStatus status = FinancialTask.TaskStatus.valueOf(rs.getString("status"));
+        return executeQuery(Query.GET_USER_FINANCIAL_TASKS, stmt -> {
+            stmt.setInt(1, currentUserId());
+        }, TASK_MAPPER);
+    }
 
-            return new FinancialTask(id, currentUserId, title, description, dueDate, amount, category, status);
-        });
+    /**
+     * Get one page of the current user's financial tasks, ordered by due date and id.
+     *
+     * @param after the cursor after which the page starts
+     * @param pageSize the maximum number of tasks in the page
+     * @return the page of financial tasks
+     */
+    public Page<FinancialTask> getPage(PageCursor after, int pageSize) {
+        return executePageQuery(Query.GET_USER_FINANCIAL_TASKS_PAGE, pageSize, stmt -> {
+            stmt.setInt(1, currentUserId());
+            after.bind(stmt, 2);
+            stmt.setInt(4, pageSize + 1);
+        }, TASK_MAPPER);
     }
 
     /**
@@ -69,22 +94,9 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      * @return the financial task or null if not found
      */
     public FinancialTask getFinancialTaskById(int taskId) {
-        List<FinancialTask> tasks = executeQuery("get_financial_task_by_id", stmt -> {
+        return executeSingleQuery(Query.GET_FINANCIAL_TASK_BY_ID, stmt -> {
             stmt.setInt(1, taskId);
-        }, rs -> {
-            int id = rs.getInt("id");
-            int userId = rs.getInt("user_id");
-            String title = rs.getString("title");
-            String description = rs.getString("description");
-            LocalDate dueDate = rs.getDate("due_date").toLocalDate();
-            double amount = rs.getDouble("amount");
-            String category = rs.getString("category");
-            FinancialTask.TaskStatus status = FinancialTask.TaskStatus.valueOf(rs.getString("status"));
-
-            return new FinancialTask(id, userId, title, description, dueDate, amount, category, status);
-        });
-
-        return tasks.isEmpty() ? null : tasks.getFirst();
+        }, TASK_MAPPER);
     }
 
     /**
@@ -93,7 +105,7 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      * @param financialTask the financial task with updated status
      */
     public void updateFinancialTaskStatus(FinancialTask financialTask) {
-        executeUpdateQuery("update_financial_task_status", stmt -> {
+        executeUpdateQuery(Query.UPDATE_FINANCIAL_TASK_STATUS, stmt -> {
             stmt.setString(1, financialTask.getStatus().name());
             stmt.setInt(2, financialTask.getId());
         });
@@ -105,7 +117,7 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      * @param financialTask the financial task with updated information
      */
     public void updateFinancialTask(FinancialTask financialTask) {
-        executeUpdateQuery("update_financial_task", stmt -> {
+        executeUpdateQuery(Query.UPDATE_FINANCIAL_TASK, stmt -> {
             stmt.setString(1, financialTask.getTitle());
             stmt.setString(2, financialTask.getDescription());
             stmt.setDate(3, Date.valueOf(financialTask.getDueDate()));
@@ -122,24 +134,14 @@ public class FinancialTaskDB extends Database<FinancialTask> {
      * @return list of upcoming financial tasks
      */
     public List<FinancialTask> getUpcomingFinancialTasks() {
-        if (currentUserId <= 0) {
+        if (currentUserId() <= 0) {
             System.err.println("Error: Invalid user ID");
             return List.of();
         }
 
-        return executeQuery("get_upcoming_financial_tasks", stmt -> {
-            stmt.setInt(1, currentUserId);
+        return executeQuery(Query.GET_UPCOMING_FINANCIAL_TASKS, stmt -> {
+            stmt.setInt(1, currentUserId());
             stmt.setDate(2, Date.valueOf(LocalDate.now()));
-        }, rs -> {
-            int id = rs.getInt("id");
-            String title = rs.getString("title");
-            String description = rs.getString("description");
-            LocalDate dueDate = rs.getDate("due_date").toLocalDate();
-            double amount = rs.getDouble("amount");
-            String category = rs.getString("category");
-            FinancialTask.TaskStatus status = FinancialTask.TaskStatus.valueOf(rs.getString("status"));
-
-            return new FinancialTask(id, currentUserId, title, description, dueDate, amount, category, status);
-        });
+        }, TASK_MAPPER);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.blanza;
 
 import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
 
 import java.io.IOException;
 
@@ -24,6 +25,24 @@ import java.io.IOException;
  * handler specified in the FXML file.
  */
 public class Home {
+    /**
+     * Starts loading the screens reachable from the home screen in the background.
+     * <p>
+     * The home screen is the first screen after startup or login, and it is kept
+     * in the scene cache afterwards, so this runs once per session. Preloading the
+     * feature screens while the user looks at the home screen makes the first
+     * navigation to each of them instant.
+     * <p>
+     * The reminders screen is not preloaded: opening it starts the reminder email
+     * service, which should only run once the user has visited it.
+     *
+     * @see SceneController#preload(String...)
+     */
+    @FXML
+    private void initialize() {
+        SceneController.preload("track_expenses.fxml", "Budgeting.fxml", "income.fxml");
+    }
+
     /**
      * Handles user navigation to the expense tracking screen.
      * <p>
@@ -86,8 +105,9 @@ public class Home {
      * This method is triggered when the user clicks the "Logout" button on the home screen.
      * It performs the following operations:
      * <ol>
-     *   <li>Clears the current user session by setting the user ID to -1</li>
-     *   <li>Persists the session state through the SessionManager</li>
+     *   <li>Clears the current user session</li>
+     *   <li>Revokes the saved session through the SessionManager</li>
+     *   <li>Drops the screens cached for the user</li>
      *   <li>Redirects the user to the application index/login screen</li>
      * </ol>
      * <p>
@@ -98,7 +118,9 @@ public class Home {
      * @throws IOException If the index FXML file cannot be loaded or another I/O error occurs
      */
     public void handleLogoutBtn(ActionEvent actionEvent) throws IOException {
-        SessionManager.saveSession(-1);
+        SessionService.clear();
+        SessionManager.clearSession();
+        SceneController.clearCache();
         SceneController.switchScene("index.fxml", "Index");
     }
 }
\ No newline at end of file
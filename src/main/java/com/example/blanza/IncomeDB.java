@@ -27,7 +27,20 @@ import java.util.List;
  * @see Database
  */
 public class IncomeDB extends Database<Income> {
-    
+
+    /**
+     * Maps an income row to an Income object, reading columns by index.
+     */
+    private static final ResultSetMapper<Income> INCOME_MAPPER = ResultSetMapper.indexed(columns -> {
+        int userId = columns.of("user_id");
+        int source = columns.of("source");
+        int amount = columns.of("amount");
+        int date = columns.of("date");
+
+        return rs -> new Income(rs.getInt(userId), rs.getString(source), rs.getDouble(amount),
+                LocalDate.parse(rs.getString(date)));
+    });
+
     /**
      * Inserts a new Income record into the database.
      * <p>
@@ -38,23 +51,24 @@ public class IncomeDB extends Database<Income> {
      *   <li>Executing the prepared statement</li>
      * </ol>
      * <p>
-     * The method uses the currentUserId from the Database parent class as the user
+     * The method uses the user returned by {@link Database#currentUserId()} as the user
      * identifier for the record. The income's source, amount, and payment date are
      * also stored.
      * <p>
      * The payment date is converted to a string representation before storage.
      *
      * @param income The Income object to persist in the database
+     * @return true if the income was stored
      * @throws RuntimeException If a database error occurs during the insert operation
      */
     @Override
-    public void insertToDatabase(Income income) {
-        executeUpdateQuery("insert_income", (stmt) -> {
-            stmt.setInt(1, currentUserId);
+    public boolean insertToDatabase(Income income) {
+        return executeInsertQuery(Query.INSERT_INCOME, (stmt) -> {
+            stmt.setInt(1, currentUserId());
             stmt.setString(2, income.getIncome_source());
             stmt.setDouble(3, income.getAmount());
             stmt.setString(4, income.getPay_date().toString());
-        });
+        }) > 0;
     }
 
     /**
@@ -81,15 +95,34 @@ public class IncomeDB extends Database<Income> {
      */
     @Override
     public List<Income> getAllFromDatabase() {
-        return executeQuery("select_all_incomes", stmt -> {
+        return executeQuery(Query.SELECT_ALL_INCOMES, stmt -> {
             stmt.setInt(1, SessionService.getCurrentUserId());
-        }, rs -> {
-            int userId = rs.getInt("user_id");
-            String source = rs.getString("source"); 
-            double amount = rs.getDouble("amount");
-            LocalDate payDate = LocalDate.parse(rs.getString("date")); 
+        }, INCOME_MAPPER);
+    }
+
+    /**
+     * Retrieves one page of the current user's income records, ordered by date and id.
+     *
+     * @param after The cursor after which the page starts, {@link PageCursor#FIRST} for the first page
+     * @param pageSize The maximum number of records in the page
+     * @return The page of income records
+     */
+    public Page<Income> getPage(PageCursor after, int pageSize) {
+        return executePageQuery(Query.SELECT_INCOMES_PAGE, pageSize, stmt -> {
+            stmt.setInt(1, currentUserId());
+            after.bind(stmt, 2);
+            stmt.setInt(4, pageSize + 1);
+        }, INCOME_MAPPER);
+    }
 
-            return new Income(userId, source, amount, payDate);
-        });
+    /**
+     * Sums the current user's income in the database, without loading the records.
+     *
+     * @return The total income
+     */
+    public double getTotal() {
+        Double total = executeSingleQuery(Query.SELECT_INCOME_TOTAL, stmt -> stmt.setInt(1, currentUserId()),
+                rs -> rs.getDouble(1));
+        return total == null ? 0 : total;
     }
-}
\ No newline at end of file
+}
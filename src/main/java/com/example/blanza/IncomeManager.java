@@ -35,7 +35,7 @@ public class IncomeManager extends FinancialEntityManager<Income> {
      * This method implements the abstract validation method from FinancialEntityManager
      * with income-specific validation rules. Currently, it ensures that:
      * <ul>
-     *   <li>The income amount is non-negative (zero or positive)</li>
+     *   <li>The income amount is non-negative (zero or positive) and finite</li>
      * </ul>
      * <p>
      * Additional validation rules for income records could be added here in the future,
@@ -46,7 +46,7 @@ public class IncomeManager extends FinancialEntityManager<Income> {
      */
     @Override
     protected boolean validate(Income income) {
-        return income.getAmount() >= 0;
+        return income.getAmount() >= 0 && Double.isFinite(income.getAmount());
     }
 
     /**
@@ -60,11 +60,12 @@ public class IncomeManager extends FinancialEntityManager<Income> {
      * validate() method.
      *
      * @param income The validated Income object to save to the database
+     * @return true if the income was stored
      * @see #validate(Income)
      */
     @Override
-    protected void saveToDatabase(Income income) {
-        db.insertToDatabase(income);
+    protected boolean saveToDatabase(Income income) {
+        return db.insertToDatabase(income);
     }
     
     /**
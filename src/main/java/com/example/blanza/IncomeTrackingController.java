@@ -9,7 +9,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Comparator;
 
 /**
  * Controller for the Income Tracking screen in the Balanza application.
@@ -25,7 +25,8 @@ import java.util.List;
  * <p>
  * The controller uses the IncomeDB class to interact with the database for retrieving
  * and storing income records. It maintains an ObservableList of Income objects that
- * serves as the data model for the TableView.
+ * serves as the data model for the TableView. The list is filled a page at a time,
+ * in date order, as the user scrolls through the table.
  * <p>
  * This class follows the JavaFX Controller pattern and is connected to the income
  * tracking FXML view through FXML annotations and element IDs.
@@ -40,6 +41,10 @@ public class IncomeTrackingController {
     /** Observable collection of income records for binding to the TableView */
     private final ObservableList<Income> incomeList = FXCollections.observableArrayList();
 
+    /** Fills the income list page by page as the user scrolls */
+    private final PageLoader<Income> incomePages = new PageLoader<>(incomeList, PageCursor.FIRST,
+            incomeDB::getPage, Comparator.comparing(Income::getPay_date));
+
     /** Text field for entering the income source */
     @FXML
     private TextField sourceField;
@@ -76,7 +81,8 @@ public class IncomeTrackingController {
      * It performs the following setup tasks:
      * <ol>
      *   <li>Configures the table columns to display Income properties</li>
-     *   <li>Loads income records from the database</li>
+     *   <li>Configures the table rows to load the next page when the last loaded row is shown</li>
+     *   <li>Loads the first page of income records from the database</li>
      *   <li>Sets up the table data binding</li>
      *   <li>Calculates and displays the total income</li>
      * </ol>
@@ -88,6 +94,15 @@ public class IncomeTrackingController {
         sourceColumn.setCellValueFactory(new PropertyValueFactory<>("income_source"));
         amountColumn.setCellValueFactory(new PropertyValueFactory<>("amount"));
         dateColumn.setCellValueFactory(new PropertyValueFactory<>("pay_date"));
+        incomeTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Income item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty) {
+                    incomePages.rowShown(getIndex());
+                }
+            }
+        });
         
         loadIncomes();
         
@@ -97,23 +112,23 @@ public class IncomeTrackingController {
     }
     
     /**
-     * Loads income records from the database into the observable list.
+     * Loads the first page of income records from the database into the observable list.
      * <p>
      * This method:
      * <ol>
-     *   <li>Retrieves all income records for the current user</li>
      *   <li>Clears the current observable list</li>
+     *   <li>Retrieves the first page of income records for the current user</li>
      *   <li>Adds the retrieved records to the list</li>
      * </ol>
      * <p>
+     * Further pages are read when the user scrolls to the last loaded row.
+     * <p>
      * Any errors during loading are caught, logged, and displayed to the user
      * via an alert dialog.
      */
     private void loadIncomes() {
         try {
-            List<Income> incomes = incomeDB.getAllFromDatabase();
-            incomeList.clear();
-            incomeList.addAll(incomes);
+            incomePages.reload();
         } catch (Exception e) {
             System.err.println("Error loading incomes: " + e.getMessage());
             e.printStackTrace();
@@ -126,7 +141,8 @@ public class IncomeTrackingController {
      * <p>
      * This method:
      * <ol>
-     *   <li>Sums the amount field from all income records in the list</li>
+     *   <li>Sums the amounts of all the user's income records in the database,
+     *       including those on pages not loaded yet</li>
      *   <li>Formats the total as a currency string</li>
      *   <li>Updates the totalIncomeLabel with the formatted value</li>
      * </ol>
@@ -134,9 +150,7 @@ public class IncomeTrackingController {
      * The total is displayed with a dollar sign and formatted to two decimal places.
      */
     private void updateTotalIncomeDisplay() {
-        double total = incomeList.stream()
-                .mapToDouble(Income::getAmount)
-                .sum();
+        double total = incomeDB.getTotal();
         totalIncomeLabel.setText(String.format("$%.2f", total));
     }
 
@@ -149,7 +163,7 @@ public class IncomeTrackingController {
      *   <li>Retrieves and validates user input from the form fields</li>
      *   <li>Creates a new Income object with the current date</li>
      *   <li>Persists the new income record to the database</li>
-     *   <li>Refreshes the income list and updates the total display</li>
+     *   <li>Adds the new record to the loaded rows and updates the total display</li>
      *   <li>Clears the input fields for the next entry</li>
      * </ol>
      * <p>
@@ -189,7 +203,7 @@ public class IncomeTrackingController {
             
             incomeDB.insertToDatabase(newIncome);
             
-            loadIncomes();
+            incomePages.add(newIncome);
             
             updateTotalIncomeDisplay();
             
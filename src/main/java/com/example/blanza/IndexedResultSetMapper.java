@@ -0,0 +1,41 @@
+package com.example.blanza;
+
+import java.sql.SQLException;
+
+/**
+ * A functional interface for row mappers that read columns by index.
+ * <p>
+ * Implementations resolve the indexes of the columns they need from a
+ * {@link ColumnIndex} and return a {@link ResultSetMapper} that reads each row by
+ * those indexes. {@link Database#executeQuery} calls {@link #bind(ColumnIndex)} once
+ * per result set, so column labels are looked up once per query instead of once
+ * per row and column.
+ * <p>
+ * Use {@link ResultSetMapper#indexed(IndexedResultSetMapper)} to pass an indexed
+ * mapper wherever a ResultSetMapper is expected.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ResultSetMapper<String> emailMapper = ResultSetMapper.indexed(columns -> {
+ *     int email = columns.of("email");
+ *     return rs -> rs.getString(email);
+ * });
+ * }</pre>
+ *
+ * @param <T> The type of object that will be created from each ResultSet row
+ *
+ * @see ColumnIndex
+ * @see ResultSetMapper
+ */
+@FunctionalInterface
+public interface IndexedResultSetMapper<T> {
+
+    /**
+     * Resolves the columns this mapper reads and returns the row mapper.
+     *
+     * @param columns The column index of the result set being read
+     * @return A mapper that reads the current row by column index
+     * @throws SQLException If a required column is missing from the result set
+     */
+    ResultSetMapper<T> bind(ColumnIndex columns) throws SQLException;
+}
@@ -0,0 +1,63 @@
+package com.example.blanza;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory mirror of a lookup table that maps small integer ids to names.
+ * <p>
+ * Expense categories and payment methods are stored as ids referencing the
+ * <code>categories</code> and <code>payment_methods</code> tables. {@link ExpenseDB}
+ * keeps one LookupTable per table, so every expense with the same category shares
+ * one canonical String instance instead of holding its own copy, and the name of an
+ * id is resolved without reading the string column again.
+ * <p>
+ * Lookup tables only ever grow, so entries never need to be invalidated.
+ *
+ * @see ExpenseDB
+ */
+public class LookupTable {
+
+    /** Canonical names by id */
+    private final Map<Integer, String> namesById = new HashMap<>();
+
+    /** Ids by name */
+    private final Map<String, Integer> idsByName = new HashMap<>();
+
+    /**
+     * Gets the canonical name of an id.
+     *
+     * @param id the id
+     * @return the name, or null if the id is not known yet
+     */
+    public synchronized String name(int id) {
+        return namesById.get(id);
+    }
+
+    /**
+     * Gets the id of a name.
+     *
+     * @param name the name
+     * @return the id, or -1 if the name is not known yet
+     */
+    public synchronized int id(String name) {
+        Integer id = idsByName.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Records an id and name pair and returns the canonical instance of the name.
+     *
+     * @param id the id
+     * @param name the name as read from the database
+     * @return the canonical name instance for the id
+     */
+    public synchronized String put(int id, String name) {
+        String canonical = namesById.putIfAbsent(id, name);
+        if (canonical == null) {
+            idsByName.put(name, id);
+            return name;
+        }
+        return canonical;
+    }
+}
@@ -1,33 +1,170 @@
 package com.example.blanza;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import java.io.IOException;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Entry point of the Balanza application.
+ * <p>
+ * The window is shown with a progress indicator as soon as JavaFX starts, and the
+ * work needed before the first real screen runs in parallel on background threads:
+ * <ul>
+ *   <li><b>config</b> - parsing the .env file into {@link AppConfig}</li>
+ *   <li><b>session</b> - reading the saved session, at the same time as the config</li>
+ *   <li><b>schema</b> - creating missing tables and indexes, once the database URL is known</li>
+ *   <li><b>restore</b> - checking that the saved user is verified, once the schema exists</li>
+ *   <li><b>warm</b> - building the user's in-memory expense store, after the first
+ *       screen has been requested</li>
+ * </ul>
+ * The config watcher and the startup query validation, when enabled, start once the
+ * config is loaded, and the {@link BudgetRollover} job once the schema exists; none of
+ * them delays the first screen. Phase timings are recorded by
+ * {@link StartupProfile} and printed once the first screen is up and the caches are warm.
+ * <p>
+ * The <code>balanza.startup</code> system property runs a scripted startup used by the
+ * <code>cds</code> build profile:
+ * <ul>
+ *   <li><code>train</code> - after startup, shows the home, expense tracking and expense
+ *       report screens, then exits. The classes loaded by this run are recorded into the
+ *       class data sharing archive of the runtime image</li>
+ *   <li><code>exit</code> - exits as soon as startup is complete, for the startup benchmark</li>
+ * </ul>
+ */
 public class Main extends Application {
-    @Override
-    public void start(Stage stage) throws IOException {
-        DatabaseInitializer.initialize();
-        Parent root;
-        int userId = SessionManager.loadSession();
-        if (userId != -1 && UserDB.getUserVerified(userId)) {
-            SessionService.setCurrentUserId(userId);
-            root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("home.fxml")));
-        } else {
-            root = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("index.fxml")));
-        }
+    /** Runs the startup phases off the JavaFX application thread */
+    private static final ExecutorService STARTUP_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Scripted startup requested with <code>-Dbalanza.startup</code>, or empty for a normal start */
+    private static final String STARTUP_MODE = System.getProperty("balanza.startup", "");
 
+    /** Screens shown by the <code>train</code> startup mode, in order */
+    private static final String[] TRAINING_SCREENS = {"home.fxml", "track_expenses.fxml", "expense_reports.fxml"};
+
+    @Override
+    public void start(Stage stage) {
+        StartupProfile profile = new StartupProfile();
         SceneController.setStage(stage);
         stage.setTitle("BALANZA");
-        stage.setScene(new Scene(root, 800, 600));
+        stage.setScene(new Scene(new StackPane(new ProgressIndicator()), 800, 600));
         stage.show();
+        profile.mark("window");
+
+        CompletableFuture<AppConfig> config =
+                CompletableFuture.supplyAsync(() -> profile.time("config", AppConfig::get), STARTUP_EXECUTOR);
+        CompletableFuture<Integer> session =
+                CompletableFuture.supplyAsync(() -> profile.time("session", SessionManager::loadSession), STARTUP_EXECUTOR);
+
+        config.thenAcceptAsync(Main::startConfiguredServices, STARTUP_EXECUTOR);
+        CompletableFuture<Void> schema =
+                config.thenRunAsync(() -> profile.run("schema", DatabaseInitializer::initialize), STARTUP_EXECUTOR);
+        schema.thenRunAsync(BudgetRollover::start, STARTUP_EXECUTOR);
+
+        CompletableFuture<Integer> user = schema.thenCombineAsync(session,
+                (ignored, userId) -> profile.time("restore", () -> restoreSession(userId)), STARTUP_EXECUTOR);
+
+        CompletableFuture<Void> firstScreen = user
+                .exceptionally(e -> {
+                    System.err.println("Startup failed: " + e.getMessage());
+                    return -1;
+                })
+                .thenAcceptAsync(userId -> {
+                    showFirstScreen(userId);
+                    profile.mark("first screen");
+                }, Platform::runLater);
+
+        CompletableFuture<Void> warm = firstScreen.thenRunAsync(() -> {
+            if (SessionService.isLoggedIn()) {
+                profile.run("warm", () -> ExpenseManager.forCurrentUser().getColumns());
+            }
+        }, STARTUP_EXECUTOR);
+
+        CompletableFuture.allOf(firstScreen, warm).whenComplete((ignored, e) -> {
+            profile.print();
+            if (!STARTUP_MODE.isEmpty()) {
+                Platform.runLater(Main::finishScriptedStartup);
+            }
+        });
+    }
+
+    /**
+     * Completes a scripted startup: shows the training screens in the
+     * <code>train</code> mode, then exits.
+     * <p>
+     * Each screen gets its CSS applied and is laid out, so the classes of its
+     * controls, skins and charts are loaded without waiting for a frame to render.
+     */
+    private static void finishScriptedStartup() {
+        if (STARTUP_MODE.equals("train")) {
+            for (String screen : TRAINING_SCREENS) {
+                try {
+                    SceneController.switchScene(screen, "BALANZA");
+                    Parent root = SceneController.getStage().getScene().getRoot();
+                    root.applyCss();
+                    root.layout();
+                } catch (IOException e) {
+                    System.err.println("Error loading " + screen + " during training: " + e.getMessage());
+                }
+            }
+        }
+        Platform.exit();
+    }
+
+    /**
+     * Starts the services that the configuration turns on.
+     *
+     * @param config the loaded configuration
+     */
+    private static void startConfiguredServices(AppConfig config) {
+        if (config.isWatchEnabled()) {
+            AppConfig.startWatching();
+        }
+        if (config.isValidateQueries()) {
+            QueryValidator.validate().print();
+        }
+    }
+
+    /**
+     * Restores the saved session if its user exists and is verified.
+     *
+     * @param userId the user id from the session file, or -1
+     * @return the restored user id, or -1 if the user has to log in
+     */
+    private static int restoreSession(int userId) {
+        if (userId != -1 && new UserDB().getUserVerified(userId)) {
+            SessionService.setCurrentUserId(userId);
+            return userId;
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the progress indicator with the home screen, or with the index
+     * screen when no session was restored.
+     *
+     * @param userId the restored user id, or -1
+     */
+    private static void showFirstScreen(int userId) {
+        try {
+            SceneController.switchScene(userId != -1 ? "home.fxml" : "index.fxml", "BALANZA");
+        } catch (IOException e) {
+            System.err.println("Error loading the first screen: " + e.getMessage());
+        }
     }
 
     public static void main(String[] args) {
         launch();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.example.blanza;
+
+import java.util.List;
+
+/**
+ * One page of rows read by a keyset-paginated query.
+ *
+ * @param <T> the type of the rows
+ *
+ * @see PageCursor
+ */
+public class Page<T> {
+
+    /** The rows of the page, in query order */
+    private final List<T> items;
+
+    /** Cursor after the last row of the page, or null if this is the last page */
+    private final PageCursor next;
+
+    /**
+     * Creates a page.
+     *
+     * @param items the rows of the page
+     * @param next the cursor of the following page, or null if there is none
+     */
+    public Page(List<T> items, PageCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * Gets the rows of the page.
+     *
+     * @return the rows, in query order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor to pass to the query for the following page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public PageCursor getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.blanza;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Position in a keyset-paginated query, given by the sort key and id of the last
+ * row already read.
+ * <p>
+ * Page queries order rows by <code>(sort key, id)</code> and only return rows
+ * strictly after the cursor, using a row value comparison such as
+ * <code>(e.date, e.id) &gt; (?, ?)</code>. With an index on
+ * <code>(user_id, sort key, id)</code>, SQLite seeks straight to the first row of
+ * the page, so reading page 1000 costs the same as reading page 1, unlike
+ * <code>LIMIT ... OFFSET</code>.
+ * <p>
+ * The sort key is kept as the object the driver returned for the
+ * <code>page_key</code> column and bound back unchanged, so dates stored as text
+ * and timestamps stored as numbers both compare correctly.
+ *
+ * @see Page
+ * @see Database#executePageQuery(Query, int, StatementSetter, ResultSetMapper)
+ */
+public class PageCursor {
+
+    /**
+     * Cursor before the first row of any page query.
+     * <p>
+     * Against a sort key with numeric affinity, such as a timestamp, the key is the
+     * smallest integer. Against a key with text affinity, such as a date stored as
+     * text, SQLite first converts it to the text <code>"-9223372036854775808"</code>,
+     * which sorts before every ISO date only because <code>'-'</code> sorts before
+     * every digit. No single value sorts first under both affinities, since an empty
+     * string would sort after every number, so text sort keys must start with a digit.
+     */
+    public static final PageCursor FIRST = new PageCursor(Long.MIN_VALUE, 0);
+
+    /** Sort key of the last row read */
+    private final Object key;
+
+    /** Id of the last row read */
+    private final int id;
+
+    /**
+     * Creates a cursor after the given sort key and id.
+     *
+     * @param key the sort key of the last row read
+     * @param id the id of the last row read
+     */
+    public PageCursor(Object key, int id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Gets the sort key of the last row read.
+     *
+     * @return the sort key
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the id of the last row read.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Binds the cursor to the two placeholders of a <code>(key, id) &gt; (?, ?)</code>
+     * comparison.
+     *
+     * @param stmt the statement of the page query
+     * @param index the index of the key placeholder; the id is bound at the next index
+     * @throws SQLException if a parameter cannot be bound
+     */
+    public void bind(PreparedStatement stmt, int index) throws SQLException {
+        stmt.setObject(index, key);
+        stmt.setInt(index + 1, id);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.blanza;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+
+import java.util.Comparator;
+
+/**
+ * Fills an observable list page by page from a keyset-paginated query.
+ * <p>
+ * List screens show the first page as soon as it is read and ask for the next
+ * page when the last loaded row is rendered, typically from the
+ * <code>updateItem</code> method of their cells or rows:
+ * <pre>{@code
+ * PageLoader<Income> pages = new PageLoader<>(incomeList, PageCursor.FIRST, incomeDB::getPage, byDate);
+ * incomeTable.setRowFactory(table -> new TableRow<>() {
+ *     protected void updateItem(Income item, boolean empty) {
+ *         super.updateItem(item, empty);
+ *         pages.rowShown(getIndex());
+ *     }
+ * });
+ * pages.reload();
+ * }</pre>
+ * Rows are never loaded twice and a page is only read when the user scrolls to
+ * the end of the rows already loaded.
+ *
+ * @param <T> the type of the rows
+ *
+ * @see Page
+ * @see PageCursor
+ */
+public class PageLoader<T> {
+
+    /** Number of rows read per page */
+    public static final int PAGE_SIZE = 100;
+
+    /**
+     * A query that reads one page of rows.
+     *
+     * @param <T> the type of the rows
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        /**
+         * Reads one page of rows.
+         *
+         * @param after the cursor after which the page starts
+         * @param pageSize the maximum number of rows in the page
+         * @return the page
+         */
+        Page<T> load(PageCursor after, int pageSize);
+    }
+
+    /** The list the pages are added to */
+    private final ObservableList<T> items;
+
+    /** The cursor of the first page */
+    private final PageCursor start;
+
+    /** The query that reads the pages */
+    private final PageSource<T> source;
+
+    /** The order of the query, used to place rows added by the screen */
+    private final Comparator<T> order;
+
+    /** The cursor of the next page, or null once the last page has been read */
+    private PageCursor next;
+
+    /** Whether a page read has been scheduled and not run yet */
+    private boolean pending;
+
+    /**
+     * Creates a loader. No page is read until {@link #reload()} is called.
+     *
+     * @param items the list to fill
+     * @param start the cursor of the first page
+     * @param source the query that reads the pages
+     * @param order the order of the query
+     */
+    public PageLoader(ObservableList<T> items, PageCursor start, PageSource<T> source, Comparator<T> order) {
+        this.items = items;
+        this.start = start;
+        this.source = source;
+        this.order = order;
+    }
+
+    /**
+     * Clears the list and reads the first page.
+     */
+    public void reload() {
+        items.clear();
+        next = start;
+        loadNextPage();
+    }
+
+    /**
+     * Reads the next page and appends it to the list, unless the last page has
+     * already been read.
+     */
+    public void loadNextPage() {
+        if (next == null) {
+            return;
+        }
+        Page<T> page = source.load(next, PAGE_SIZE);
+        next = page.getNext();
+        items.addAll(page.getItems());
+    }
+
+    /**
+     * Notifies the loader that the row at an index is being rendered. When it is
+     * the last row loaded and more rows exist, the next page is read once the
+     * current layout pass is over.
+     *
+     * @param index the index of the rendered row
+     */
+    public void rowShown(int index) {
+        if (next == null || pending || index < items.size() - 1) {
+            return;
+        }
+        pending = true;
+        Platform.runLater(() -> {
+            pending = false;
+            loadNextPage();
+        });
+    }
+
+    /**
+     * Adds a row the screen has just stored.
+     * <p>
+     * The row is inserted at its place in the query order if that place is among
+     * the rows already loaded. Otherwise it is left out, as it will be read with a
+     * later page.
+     *
+     * @param item the stored row
+     */
+    public void add(T item) {
+        int index = items.size();
+        while (index > 0 && order.compare(items.get(index - 1), item) > 0) {
+            index--;
+        }
+        if (index < items.size() || next == null) {
+            items.add(index, item);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.blanza;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Validates the SQL query catalogue against the application schema.
+ * <p>
+ * Broken SQL in queries.sql would otherwise only be discovered when a user happens
+ * to trigger the affected screen. This class checks every {@link Query} up front:
+ * <ol>
+ *   <li>All <code>create_</code> and <code>migrate_</code> queries are run, in catalogue
+ *       order, against a fresh in-memory SQLite database to build a copy of the schema</li>
+ *   <li>Every other query is prepared once against that schema, which reports syntax
+ *       errors and unknown tables or columns. <code>upgrade_</code> queries, which only
+ *       run against tables in an older layout, are skipped</li>
+ *   <li>The placeholder count reported by the driver is compared with the count
+ *       recorded in the catalogue</li>
+ * </ol>
+ * When a source root is available, the Java sources are also scanned. Each
+ * <code>executeXxxQuery(Query.NAME, ...)</code> call must bind exactly as many
+ * parameters as the query declares, queries that no source file references are
+ * reported as unused, and names passed to {@link SQLLoader#get(String)} that are
+ * not in the catalogue are reported as missing.
+ * <p>
+ * The validator runs as a command line tool through {@link #main(String[])}, or at
+ * startup when <code>VALIDATE_QUERIES=true</code> is set in the .env file.
+ *
+ * @see Query
+ * @see AppConfig
+ */
+public class QueryValidator {
+
+    /** Default location of the application sources, relative to the working directory */
+    private static final Path DEFAULT_SOURCE_ROOT = Paths.get("src", "main", "java");
+
+    /** Matches a call of one of the Database execute methods with a catalogue query */
+    private static final Pattern EXECUTE_CALL = Pattern.compile("execute\\w*Query\\(\\s*(?:\\w+\\s*,\\s*)?Query\\.(\\w+)");
+
+    /** Matches any reference to a catalogue constant */
+    private static final Pattern QUERY_REFERENCE = Pattern.compile("\\bQuery\\.([A-Z][A-Z0-9_]*)\\b");
+
+    /** Matches a lookup of a query by name */
+    private static final Pattern NAME_LOOKUP = Pattern.compile("SQLLoader\\.get\\(\\s*\"(\\w+)\"\\s*\\)");
+
+    /** Matches a positional parameter binding on a prepared statement */
+    private static final Pattern PARAMETER_BINDING = Pattern.compile("\\.set\\w+\\(\\s*(\\d+)\\s*,");
+
+    /**
+     * Outcome of a validation run.
+     */
+    public static class Result {
+        /** Problems that make a query unusable */
+        private final List<String> errors = new ArrayList<>();
+
+        /** Findings that do not break the application, such as unused queries */
+        private final List<String> warnings = new ArrayList<>();
+
+        /**
+         * Gets the problems that make a query unusable.
+         *
+         * @return the errors
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets the findings that do not break the application.
+         *
+         * @return the warnings
+         */
+        public List<String> getWarnings() {
+            return warnings;
+        }
+
+        /**
+         * Indicates whether the validation found no errors.
+         *
+         * @return true if there are no errors
+         */
+        public boolean isValid() {
+            return errors.isEmpty();
+        }
+
+        /**
+         * Prints all findings to the console.
+         */
+        public void print() {
+            for (String error : errors) {
+                System.err.println("ERROR: " + error);
+            }
+            for (String warning : warnings) {
+                System.out.println("WARNING: " + warning);
+            }
+            System.out.println("Query validation: " + Query.values().length + " queries, "
+                    + errors.size() + " errors, " + warnings.size() + " warnings");
+        }
+    }
+
+    /**
+     * Validates every query against an in-memory copy of the schema and, if the
+     * default source root exists, checks how the sources use the queries.
+     *
+     * @return the validation result
+     */
+    public static Result validate() {
+        return validate(Files.isDirectory(DEFAULT_SOURCE_ROOT) ? DEFAULT_SOURCE_ROOT : null);
+    }
+
+    /**
+     * Validates every query against an in-memory copy of the schema.
+     *
+     * @param sourceRoot the root of the Java sources to scan, or null to skip the source checks
+     * @return the validation result
+     */
+    public static Result validate(Path sourceRoot) {
+        Result result = new Result();
+        validateSchema(result);
+        if (sourceRoot != null) {
+            validateSources(sourceRoot, result);
+        }
+        return result;
+    }
+
+    /**
+     * Builds the schema in memory and prepares every query against it.
+     */
+    private static void validateSchema(Result result) {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            for (Query query : Query.values()) {
+                if (isSchemaQuery(query)) {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute(query.getSql());
+                    } catch (SQLException e) {
+                        result.errors.add(query.getName() + ": " + e.getMessage());
+                    }
+                }
+            }
+
+            for (Query query : Query.values()) {
+                if (isSchemaQuery(query) || isUpgradeQuery(query)) {
+                    continue;
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(query.getSql())) {
+                    int actual = stmt.getParameterMetaData().getParameterCount();
+                    if (actual != query.getParameterCount()) {
+                        result.errors.add(query.getName() + ": driver reports " + actual
+                                + " parameters but the catalogue records " + query.getParameterCount());
+                    }
+                } catch (SQLException e) {
+                    result.errors.add(query.getName() + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            result.errors.add("Could not open in-memory database: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scans the Java sources for bind counts, unused queries and unknown query names.
+     */
+    private static void validateSources(Path sourceRoot, Result result) {
+        Set<Query> referenced = EnumSet.noneOf(Query.class);
+
+        try (Stream<Path> files = Files.walk(sourceRoot)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".java")).toList()) {
+                String source = stripComments(Files.readString(file));
+                String fileName = file.getFileName().toString();
+
+                Matcher reference = QUERY_REFERENCE.matcher(source);
+                while (reference.find()) {
+                    Query query = constant(reference.group(1));
+                    if (query != null) {
+                        referenced.add(query);
+                    }
+                }
+
+                Matcher lookup = NAME_LOOKUP.matcher(source);
+                while (lookup.find()) {
+                    Query query = Query.fromName(lookup.group(1));
+                    if (query == null) {
+                        result.errors.add(fileName + ": unknown query '" + lookup.group(1) + "'");
+                    } else {
+                        referenced.add(query);
+                    }
+                }
+
+                Matcher call = EXECUTE_CALL.matcher(source);
+                while (call.find()) {
+                    Query query = constant(call.group(1));
+                    if (query == null) {
+                        continue;
+                    }
+                    int bound = highestBoundIndex(callArguments(source, call.start()));
+                    if (bound != query.getParameterCount()) {
+                        result.errors.add(fileName + ": " + query.getName() + " expects "
+                                + query.getParameterCount() + " parameters but the call binds " + bound);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            result.warnings.add("Could not scan sources in " + sourceRoot + ": " + e.getMessage());
+            return;
+        }
+
+        for (Query query : Query.values()) {
+            if (!referenced.contains(query)) {
+                result.warnings.add(query.getName() + " is defined but never used");
+            }
+        }
+    }
+
+    /**
+     * Removes comments from Java source so examples in doc comments are not
+     * treated as query usages. String and character literals are kept as-is.
+     */
+    private static String stripComments(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < source.length() && source.charAt(end) != c) {
+                    end += source.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end + 1, source.length());
+                out.append(source, i, end);
+                i = end;
+            } else if (source.startsWith("//", i)) {
+                int end = source.indexOf('\n', i);
+                i = end < 0 ? source.length() : end;
+            } else if (source.startsWith("/*", i)) {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? source.length() : end + 2;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Indicates whether a query belongs to the schema rather than to data access.
+     */
+    private static boolean isSchemaQuery(Query query) {
+        return query.getName().startsWith("create_") || query.getName().startsWith("migrate_");
+    }
+
+    /**
+     * Indicates whether a query upgrades a table from an older layout. These queries
+     * refer to columns the current schema no longer has, so they are not prepared.
+     */
+    private static boolean isUpgradeQuery(Query query) {
+        return query.getName().startsWith("upgrade_");
+    }
+
+    /**
+     * Resolves a constant name, returning null for names that are not queries.
+     */
+    private static Query constant(String name) {
+        for (Query query : Query.values()) {
+            if (query.name().equals(name)) {
+                return query;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the argument text of the call whose name starts at the given offset,
+     * up to its matching closing parenthesis.
+     */
+    private static String callArguments(String source, int callStart) {
+        int open = source.indexOf('(', callStart);
+        int depth = 0;
+        for (int i = open; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return source.substring(open + 1, i);
+            }
+        }
+        return source.substring(open + 1);
+    }
+
+    /**
+     * Returns the highest parameter index bound in a piece of source, or 0 if none.
+     */
+    private static int highestBoundIndex(String arguments) {
+        int highest = 0;
+        Matcher binding = PARAMETER_BINDING.matcher(arguments);
+        while (binding.find()) {
+            highest = Math.max(highest, Integer.parseInt(binding.group(1)));
+        }
+        return highest;
+    }
+
+    /**
+     * Runs the validation from the command line.
+     * <p>
+     * Usage: <code>QueryValidator [source root]</code>. The source root defaults to
+     * <code>src/main/java</code>. The process exits with status 1 if any error is found.
+     *
+     * @param args optional source root
+     */
+    public static void main(String[] args) {
+        Path sourceRoot = args.length > 0 ? Paths.get(args[0]) : DEFAULT_SOURCE_ROOT;
+        Result result = validate(Files.isDirectory(sourceRoot) ? sourceRoot : null);
+        result.print();
+        if (!result.isValid()) {
+            System.exit(1);
+        }
+    }
+}
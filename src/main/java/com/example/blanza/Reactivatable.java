@@ -0,0 +1,23 @@
+package com.example.blanza;
+
+/**
+ * Implemented by screen controllers that need to know when their cached screen is
+ * shown again.
+ * <p>
+ * {@link SceneController} keeps recently used screens loaded, so navigating back to
+ * a screen shows the same controller instance without running its
+ * <code>initialize</code> method again. A controller whose data can change while
+ * its screen is hidden implements this interface to bring that data up to date,
+ * ideally from in-memory state rather than by reloading it from the database.
+ *
+ * @see SceneController
+ */
+@FunctionalInterface
+public interface Reactivatable {
+
+    /**
+     * Called on the JavaFX application thread each time the cached screen of this
+     * controller is shown again. It is not called the first time the screen is shown.
+     */
+    void onReactivated();
+}
@@ -13,7 +13,7 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.Comparator;
 import java.util.ResourceBundle;
 
 /**
@@ -29,7 +29,9 @@ import java.util.ResourceBundle;
  * </ul>
  * <p>
  * The controller uses the ReminderManager to handle business logic and persistence
- * of reminder objects. It also manages a background reminder service that runs
+ * of reminder objects. The table shows upcoming reminders and the task combo box
+ * lists the user's tasks by due date; both are read page by page through a
+ * {@link PageLoader} as the user scrolls. It also manages a background reminder service that runs
  * to check for and display reminders when they become due.
  * <p>
  * This class implements the JavaFX Initializable interface to properly set up UI
@@ -38,9 +40,10 @@ import java.util.ResourceBundle;
  * @see Reminder
  * @see ReminderManager
  * @see FinancialTask
+ * @see PageLoader
  * @see Initializable
  */
-public class ReminderController implements Initializable {
+public class ReminderController implements Initializable, Disposable {
     /** Manager object for handling reminder business logic and persistence */
     private ReminderManager reminderManager;
     
@@ -52,6 +55,16 @@ public class ReminderController implements Initializable {
     
     /** Data access object for retrieving financial tasks */
     private final FinancialTaskDB db = new FinancialTaskDB();
+
+    /** Data access object for reading the reminders shown in the table */
+    private final ReminderDB reminderDB = new ReminderDB();
+
+    /** Loads the upcoming reminders into the table page by page */
+    private PageLoader<Reminder> reminderPages;
+
+    /** Loads the financial tasks into the combo box page by page */
+    private final PageLoader<FinancialTask> taskPages =
+            new PageLoader<>(financialTasksList, PageCursor.FIRST, db::getPage, Comparator.comparing(FinancialTask::getDueDate));
     
     /** Text field for entering the reminder title */
     @FXML
@@ -110,6 +123,21 @@ public class ReminderController implements Initializable {
     public void initialize(URL url, ResourceBundle resourceBundle) {
         titleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         timeColumn.setCellValueFactory(new PropertyValueFactory<>("time"));
+        remindersTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(Reminder reminder, boolean empty) {
+                super.updateItem(reminder, empty);
+                reminderPages.rowShown(getIndex());
+            }
+        });
+        financialTaskComboBox.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(FinancialTask task, boolean empty) {
+                super.updateItem(task, empty);
+                setText(empty || task == null ? null : task.toString());
+                taskPages.rowShown(getIndex());
+            }
+        });
         
         reminderDatePicker.setValue(LocalDate.now());
         
@@ -120,6 +148,15 @@ public class ReminderController implements Initializable {
         
         loadFinancialTasks();
     }
+
+    /**
+     * Stops the reminder service when the screen is dropped, so reminders are no
+     * longer sent for a user who has logged out
+     */
+    @Override
+    public void onDisposed() {
+        reminderManager.stopReminderService();
+    }
     
     /**
      * Loads all reminders for the current user from the database into the UI.
@@ -127,17 +164,18 @@ public class ReminderController implements Initializable {
      * This method:
      * <ol>
      *   <li>Clears the current list of reminders</li>
-     *   <li>Retrieves all reminders for the current user through the ReminderManager</li>
-     *   <li>Adds the retrieved reminders to the observable list</li>
+     *   <li>Reads the first page of the current user's reminders, past and upcoming, ordered by time</li>
      *   <li>Updates the table view to display the loaded reminders</li>
      * </ol>
      * <p>
-     * The method is called during initialization and after adding a new reminder
+     * Further pages are read as the user scrolls to the end of the table. The
+     * method is called during initialization and after adding a new reminder
      * to ensure the table always shows the current state of reminders.
      */
     private void loadReminders() {
-        remindersList.clear();
-        remindersList.addAll(reminderManager.getAllReminders());
+        reminderPages = new PageLoader<>(remindersList, PageCursor.FIRST, reminderDB::getPage,
+                Comparator.comparing(Reminder::getTime));
+        reminderPages.reload();
         remindersTable.setItems(remindersList);
     }
     
@@ -147,18 +185,16 @@ public class ReminderController implements Initializable {
      * This method:
      * <ol>
      *   <li>Clears the current list of financial tasks</li>
-     *   <li>Retrieves all tasks for the current user from the database</li>
-     *   <li>Adds the retrieved tasks to the observable list</li>
+     *   <li>Reads the first page of tasks for the current user, ordered by due date</li>
      *   <li>Updates the combo box to allow selection from the loaded tasks</li>
      * </ol>
      * <p>
+     * Further pages are read as the user scrolls to the end of the drop-down.
      * This allows users to associate reminders with existing financial tasks
      * when creating new reminders.
      */
     private void loadFinancialTasks() {
-        financialTasksList.clear();
-        List<FinancialTask> tasks = db.getAllFromDatabase();
-        financialTasksList.addAll(tasks);
+        taskPages.reload();
         financialTaskComboBox.setItems(financialTasksList);
     }
     
@@ -2,21 +2,22 @@ package com.example.blanza;
 
 import java.sql.*;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The type Reminder db.
  */
 public class ReminderDB extends Database<Reminder> {
     /**
-     * Insert reminder into database.
+     * Insert reminder into database and set its generated id.
      *
      * @param reminder the reminder to insert
      */
     @Override
-    public void insertToDatabase(Reminder reminder) {
-        executeUpdateQuery("insert_reminder", (stmt -> {
+    public boolean insertToDatabase(Reminder reminder) {
+        int id = executeInsertQuery(Query.INSERT_REMINDER, (stmt -> {
             stmt.setInt(1, reminder.getCurrent_user_id());
             stmt.setString(2, reminder.getTitle());
             stmt.setString(3, reminder.getDescription());
@@ -27,35 +28,103 @@ public class ReminderDB extends Database<Reminder> {
                 stmt.setNull(5, java.sql.Types.INTEGER);
             }
         }));
+        if (id <= 0) {
+            return false;
+        }
+        reminder.setId(id);
+        return true;
     }
 
     /**
      * Get all reminders for the current user.
+     * <p>
+     * Reminders and their linked financial tasks are loaded with a single JOIN
+     * query. Tasks are kept in an identity map while the rows are mapped, so a
+     * task shared by several reminders is built only once.
      *
      * @return list of reminders
      */
     @Override
     public List<Reminder> getAllFromDatabase() {
-        if (currentUserId <= 0) {
+        if (currentUserId() <= 0) {
             System.err.println("Error: Invalid user ID");
             return List.of();
         }
 
-        return executeQuery("get_user_reminders", stmt -> {
-            stmt.setInt(1, currentUserId);
-        }, rs -> {
-            FinancialTaskDB db = new FinancialTaskDB();
-            int id = rs.getInt("id");
-            String title = rs.getString("title");
-            String description = rs.getString("description");
-            LocalDateTime time = rs.getTimestamp("time").toLocalDateTime();
-            Integer taskId = null;
-            FinancialTask task = null;
-            if (!rs.wasNull() && rs.getObject("task_id") != null) {
-                taskId = rs.getInt("task_id");
-                task = db.getFinancialTaskById(taskId);
-            }
-            return new Reminder(id, currentUserId, title, description, time, taskId, task);
+        return executeQuery(Query.GET_USER_REMINDERS, stmt -> {
+            stmt.setInt(1, currentUserId());
+        }, reminderMapper());
+    }
+
+    /**
+     * Get one page of the current user's reminders, ordered by time and id.
+     *
+     * @param after the cursor after which the page starts
+     * @param pageSize the maximum number of reminders in the page
+     * @return the page of reminders
+     */
+    public Page<Reminder> getPage(PageCursor after, int pageSize) {
+        return executePageQuery(Query.GET_USER_REMINDERS_PAGE, pageSize, stmt -> {
+            stmt.setInt(1, currentUserId());
+            after.bind(stmt, 2);
+            stmt.setInt(4, pageSize + 1);
+        }, reminderMapper());
+    }
+
+    /**
+     * Cursor of the first page of reminders that are due from now on.
+     *
+     * @return the cursor
+     */
+    public static PageCursor upcoming() {
+        return new PageCursor(Timestamp.valueOf(LocalDateTime.now()), 0);
+    }
+
+    /**
+     * Creates a mapper for reminder rows joined with their financial tasks, with
+     * its own task identity map.
+     */
+    private ResultSetMapper<Reminder> reminderMapper() {
+        Map<Integer, FinancialTask> tasks = new HashMap<>();
+        return ResultSetMapper.indexed(columns -> {
+            int id = columns.of("id");
+            int title = columns.of("title");
+            int description = columns.of("description");
+            int time = columns.of("time");
+            int taskIdColumn = columns.of("task_id");
+            int taskUserId = columns.of("task_user_id");
+            int taskTitle = columns.of("task_title");
+            int taskDescription = columns.of("task_description");
+            int taskDueDate = columns.of("task_due_date");
+            int taskAmount = columns.of("task_amount");
+            int taskCategory = columns.of("task_category");
+            int taskStatus = columns.of("task_status");
+
+            return rs -> {
+                LocalDateTime reminderTime = rs.getTimestamp(time).toLocalDateTime();
+                Integer taskId = rs.getInt(taskIdColumn);
+                if (rs.wasNull()) {
+                    taskId = null;
+                }
+                FinancialTask task = null;
+                if (taskId != null && rs.getString(taskStatus) != null) {
+                    task = tasks.get(taskId);
+                    if (task == null) {
+                        task = new FinancialTask(
+                                taskId,
+                                rs.getInt(taskUserId),
+                                rs.getString(taskTitle),
+                                rs.getString(taskDescription),
+                                rs.getDate(taskDueDate).toLocalDate(),
+                                rs.getDouble(taskAmount),
+                                rs.getString(taskCategory),
+                                FinancialTask.TaskStatus.valueOf(rs.getString(taskStatus)));
+                        tasks.put(taskId, task);
+                    }
+                }
+                return new Reminder(rs.getInt(id), currentUserId(), rs.getString(title), rs.getString(description),
+                        reminderTime, taskId, task);
+            };
         });
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,25 @@
 package com.example.blanza;
 
-import io.github.cdimascio.dotenv.Dotenv;
-
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReminderManager {
     private final PriorityQueue<Reminder> reminderQueue = new PriorityQueue<>();
+    private final int userId = SessionService.getCurrentUserId();
     private Thread reminderThread;
     private boolean isRunning = false;
     private final ReminderDB db = new ReminderDB();
+    private final UserDB userDB = new UserDB();
     private LocalDateTime lastRefreshTime = LocalDateTime.MIN;
+    private final Set<Integer> dispatchedIds = ConcurrentHashMap.newKeySet();
     private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30); 
 
     public ReminderManager() {
@@ -24,7 +30,7 @@ public class ReminderManager {
      * Creates and saves a new reminder
      *
      * @param reminder the reminder to save
-     * @return True if reminder was successfully created, false otherwise
+     * @return True if reminder was valid and stored, false otherwise
      */
     public boolean addReminder(Reminder reminder) {
         
@@ -32,12 +38,9 @@ public class ReminderManager {
             return false;
         }
         
-        
-        db.insertToDatabase(reminder);
-        
-        
-        reminder.setId(reminder.getId());
-        
+        if (!db.insertToDatabase(reminder)) {
+            return false;
+        }
         
         reminderQueue.add(reminder);
         
@@ -45,9 +48,10 @@ public class ReminderManager {
     }
     
     /**
-     * Validates reminder data according to business rules
+     * Validates reminder data according to business rules.
+     * Shared with the API, which stores reminders without loading a manager
      */
-    private boolean validateReminderData(Reminder reminder) {
+    static boolean validateReminderData(Reminder reminder) {
         
         if (reminder.getTitle() == null || reminder.getTitle().length() < 3 || reminder.getTitle().length() > 50) {
             return false;
@@ -64,6 +68,11 @@ public class ReminderManager {
         reminderQueue.clear();
         List<Reminder> reminders = db.getAllFromDatabase();
         reminderQueue.addAll(reminders);
+        Set<Integer> loadedIds = new HashSet<>();
+        for (Reminder reminder : reminders) {
+            loadedIds.add(reminder.getId());
+        }
+        dispatchedIds.retainAll(loadedIds);
         lastRefreshTime = LocalDateTime.now();
     }
 
@@ -96,16 +105,22 @@ public class ReminderManager {
                 }
 
                 Reminder nextReminder = reminderQueue.peek();
-                if (LocalDateTime.now().isAfter(nextReminder.getTime())) {
-                    
-                    sendNotification(nextReminder);
-                    
+                LocalDateTime now = LocalDateTime.now();
+                if (dispatchedIds.contains(nextReminder.getId())) {
                     
                     reminderQueue.poll();
+                } else if (now.isAfter(nextReminder.getTime())) {
+                    
+                    LocalDateTime wakeUp = digestWakeUp(nextReminder, now);
+                    if (wakeUp == null) {
+                        dispatchDueReminders(now);
+                    } else {
+                        Thread.sleep(Math.max(1, Math.min(Duration.between(now, wakeUp).toMillis(), 60000)));
+                    }
                 } else {
                     
                     long sleepTime = Math.min(
-                        Duration.between(LocalDateTime.now(), nextReminder.getTime()).toMillis(),
+                        Duration.between(now, nextReminder.getTime()).toMillis(),
                         60000); 
                     Thread.sleep(sleepTime);
                 }
@@ -116,20 +131,102 @@ public class ReminderManager {
         }
     }
     
+    /**
+     * Decides whether a due reminder should wait for others to join its digest.
+     * When digest mode is on, the oldest due reminder is held for at most the
+     * configured window while another reminder will fall due within it, so the
+     * two are sent together. Reminders are never sent before they are due.
+     *
+     * @param oldest the oldest due reminder that has not been sent
+     * @param now the current time
+     * @return the time to check again, or null to send the due reminders now
+     */
+    private LocalDateTime digestWakeUp(Reminder oldest, LocalDateTime now) {
+        Duration window = AppConfig.get().getReminderDigestWindow();
+        if (window.isZero()) {
+            return null;
+        }
+        LocalDateTime deadline = oldest.getTime().plus(window);
+        if (!now.isBefore(deadline)) {
+            return null;
+        }
+        LocalDateTime nextDue = null;
+        for (Reminder reminder : reminderQueue) {
+            LocalDateTime time = reminder.getTime();
+            if (time.isAfter(now) && time.isBefore(deadline) && !dispatchedIds.contains(reminder.getId())
+                    && (nextDue == null || time.isBefore(nextDue))) {
+                nextDue = time;
+            }
+        }
+        return nextDue;
+    }
+
+    /**
+     * Removes every due reminder from the queue and notifies its owner.
+     * Each reminder is sent once: its id is remembered, so reloading the
+     * reminders from the database does not send it again. When digest mode is
+     * on, the due reminders of a user are coalesced into one email; otherwise
+     * each reminder is sent on its own.
+     *
+     * @param now the current time; reminders due after it stay queued
+     */
+    private void dispatchDueReminders(LocalDateTime now) {
+        AppConfig config = AppConfig.get();
+        boolean digest = !config.getReminderDigestWindow().isZero();
+        EmailManager emailManager = new EmailManager(config.getEmailSender(), config.getEmailPassword());
+
+        Map<Integer, List<Reminder>> dueByUser = new LinkedHashMap<>();
+        while (!reminderQueue.isEmpty() && now.isAfter(reminderQueue.peek().getTime())) {
+            Reminder reminder = reminderQueue.poll();
+            if (dispatchedIds.add(reminder.getId())) {
+                dueByUser.computeIfAbsent(reminder.getCurrent_user_id(), id -> new ArrayList<>()).add(reminder);
+            }
+        }
+
+        for (List<Reminder> reminders : dueByUser.values()) {
+            if (!digest || reminders.size() == 1) {
+                for (Reminder reminder : reminders) {
+                    sendNotification(emailManager, reminder);
+                }
+            } else {
+                sendDigest(emailManager, reminders);
+            }
+        }
+    }
+
     /**
      * Sends a notification for a specific reminder
      */
-    private void sendNotification(Reminder reminder) {
-        String fromEmail = Dotenv.configure().directory(".").load().get("EMAIL_SENDER");
-        String password = Dotenv.configure().directory(".").load().get("PASS");
+    private void sendNotification(EmailManager emailManager, Reminder reminder) {
         String subject = "Reminder: " + reminder.getTitle();
-        String body = "Don't Forget to Pay for " + reminder.getTitle() + " " + reminder.getDescription() + " on " + reminder.getTime().toString();
-        EmailManager emailManager = new EmailManager(fromEmail, password);
-        emailManager.sendEmail(UserDB.getUserEmailById(SessionService.getCurrentUserId()), subject, body);
+        String body = "Don't Forget to Pay for " + describe(reminder);
+        emailManager.sendEmail(userDB.getUserEmailById(reminder.getCurrent_user_id()), subject, body);
+    }
+
+    /**
+     * Sends a single digest email covering several reminders of the same user
+     */
+    private void sendDigest(EmailManager emailManager, List<Reminder> reminders) {
+        List<String> entries = new ArrayList<>();
+        for (Reminder reminder : reminders) {
+            entries.add(describe(reminder));
+        }
+        String subject = "Reminders: " + reminders.size() + " payments due";
+        emailManager.sendDigest(userDB.getUserEmailById(reminders.getFirst().getCurrent_user_id()), subject,
+                "Don't Forget to Pay for:", entries);
+    }
+
+    /**
+     * Formats the reminder details used in notification bodies
+     */
+    private String describe(Reminder reminder) {
+        return reminder.getTitle() + " " + reminder.getDescription() + " on " + reminder.getTime().toString();
     }
 
     /**
-     * Starts the reminder service thread
+     * Starts the reminder service thread.
+     * The thread keeps acting for the user the manager was created for, even
+     * after the session of the application changes
      */
     public void startReminderService() {
         if (reminderThread != null && reminderThread.isAlive()) {
@@ -137,13 +234,13 @@ public class ReminderManager {
         }
         
         isRunning = true;
-        reminderThread = new Thread(() -> {
+        reminderThread = new Thread(() -> SessionService.runAs(userId, () -> {
             try {
                 sendReminder();
             } catch (InterruptedException e) {
                 System.out.println("Reminder service stopped.");
             }
-        });
+        }));
         reminderThread.setDaemon(true);
         reminderThread.start();
     }
@@ -15,6 +15,10 @@ import java.sql.SQLException;
  * used by database access objects (DAOs) to transform raw database records into rich domain
  * objects that can be used by the business logic layer.
  * <p>
+ * Mappers used on large result sets should be created with
+ * {@link #indexed(IndexedResultSetMapper)}, so columns are read by index instead of
+ * being looked up by label for every row.
+ * <p>
  * Example usage:
  * <pre>{@code
  * // Define a mapper for Income objects
@@ -74,4 +78,44 @@ public interface ResultSetMapper<T> {
      *                      names or types requested do not match those in the ResultSet
      */
     T map(ResultSet rs) throws SQLException;
+
+    /**
+     * Prepares this mapper for a specific result set.
+     * <p>
+     * {@link Database#executeQuery} calls this once per result set, before the first
+     * row, and uses the returned mapper for every row. Plain mappers return themselves;
+     * mappers created with {@link #indexed(IndexedResultSetMapper)} resolve their column
+     * indexes here.
+     *
+     * @param columns The column index of the result set about to be read
+     * @return The mapper to use for each row of this result set
+     * @throws SQLException If a required column is missing from the result set
+     */
+    default ResultSetMapper<T> bind(ColumnIndex columns) throws SQLException {
+        return this;
+    }
+
+    /**
+     * Creates a mapper that resolves its column indexes once per result set.
+     * <p>
+     * When used outside {@link Database#executeQuery}, the returned mapper still works
+     * but resolves the columns again for every row.
+     *
+     * @param mapper The indexed mapper
+     * @param <T> The type of object that will be created from each ResultSet row
+     * @return A ResultSetMapper backed by the indexed mapper
+     */
+    static <T> ResultSetMapper<T> indexed(IndexedResultSetMapper<T> mapper) {
+        return new ResultSetMapper<>() {
+            @Override
+            public T map(ResultSet rs) throws SQLException {
+                return mapper.bind(new ColumnIndex(rs)).map(rs);
+            }
+
+            @Override
+            public ResultSetMapper<T> bind(ColumnIndex columns) throws SQLException {
+                return mapper.bind(columns);
+            }
+        };
+    }
 }
\ No newline at end of file
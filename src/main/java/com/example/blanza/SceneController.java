@@ -1,10 +1,21 @@
 package com.example.blanza;
 
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A utility class for managing scene transitions in the Balanza application.
@@ -33,12 +44,70 @@ import java.io.IOException;
  *     SceneController.switchScene("login.fxml", "Balanza - Login");
  * }
  * }</pre>
+ * <p>
+ * Screens are cached. The root node and controller of the most recently shown
+ * screens are kept, up to the <code>SCENE_CACHE_SIZE</code> set in the .env file
+ * (see {@link AppConfig#getSceneCacheSize()}), so navigating back to a screen shows
+ * it again without parsing its FXML or running its controller's
+ * <code>initialize</code> method, and therefore without reloading its data.
+ * Controllers that must refresh when their screen is shown again implement
+ * {@link Reactivatable}, and controllers that must release resources when their
+ * screen is dropped implement {@link Disposable}. Screens can also be loaded ahead
+ * of time on a background thread with {@link #preload(String...)}.
+ * <p>
+ * Cached screens belong to the user who was logged in when they were loaded. They
+ * are dropped when another user logs in and on {@link #clearCache()}, which logout
+ * calls. The screens used before logging in are never cached, so their forms never
+ * keep credentials.
  *
+ * @see Reactivatable
+ * @see Disposable
  * @see javafx.stage.Stage
  * @see javafx.scene.Scene
  * @see javafx.fxml.FXMLLoader
  */
 public class SceneController {
+
+    /** Width of every scene */
+    private static final int SCENE_WIDTH = 800;
+
+    /** Height of every scene */
+    private static final int SCENE_HEIGHT = 600;
+
+    /** Screens shown before logging in, which are reloaded on every visit */
+    private static final Set<String> UNCACHED_SCREENS =
+            Set.of("index.fxml", "login.fxml", "signup.fxml", "authentication.fxml");
+
+    /** Loads preloaded screens one at a time, off the JavaFX application thread */
+    private static final ExecutorService PRELOAD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scene-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Loaded screens by FXML file, least recently shown first */
+    private static final Map<String, LoadedScreen> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Screens being loaded by {@link #preload(String...)}, by FXML file */
+    private static final Map<String, Future<LoadedScreen>> preloads = new HashMap<>();
+
+    /**
+     * A loaded screen: the root of its node graph, its controller and, once it has
+     * been shown, its scene.
+     */
+    private static class LoadedScreen {
+        private final Parent root;
+        private final Object controller;
+        private final int userId;
+        private Scene scene;
+        private boolean disposed;
+
+        LoadedScreen(Parent root, Object controller, int userId) {
+            this.root = root;
+            this.controller = controller;
+            this.userId = userId;
+        }
+    }
     
     /**
      * The primary stage of the application.
@@ -48,6 +117,9 @@ public class SceneController {
      */
     private static Stage primaryStage;
 
+    /** The screen shown in the primary stage */
+    private static LoadedScreen shownScreen;
+
     /**
      * Sets the primary stage reference for the application.
      * <p>
@@ -75,20 +147,33 @@ public class SceneController {
         primaryStage = stage;
     }
 
+    /**
+     * Gets the primary stage of the application.
+     *
+     * @return The primary stage, or null before {@link #setStage(Stage)} is called
+     */
+    public static Stage getStage() {
+        return primaryStage;
+    }
+
     /**
      * Switches the current scene to a new scene defined by the specified FXML file.
      * <p>
-     * This method loads the specified FXML file, creates a new scene with default
-     * dimensions (800x600), sets the window title, and displays the new scene in
-     * the application's primary stage.
+     * This method shows the cached screen for the specified FXML file, or loads it,
+     * creates a new scene with default dimensions (800x600), sets the window title,
+     * and displays the scene in the application's primary stage.
      * <p>
      * The method handles the entire scene transition process, including:
      * <ul>
-     *   <li>Loading the FXML resource</li>
-     *   <li>Creating a new Scene with the loaded layout</li>
+     *   <li>Taking the screen from the cache or from a finished preload, or
+     *       loading the FXML resource</li>
+     *   <li>Creating a new Scene with the loaded layout on its first display</li>
      *   <li>Setting the window title</li>
      *   <li>Updating the primary stage with the new scene</li>
      *   <li>Making the window visible (if not already)</li>
+     *   <li>Notifying a {@link Reactivatable} controller when its cached screen is
+     *       shown again</li>
+     *   <li>Disposing the previous screen if it is not kept in the cache</li>
      * </ul>
      * <p>
      * This centralized approach ensures consistent window dimensions and behavior
@@ -105,10 +190,179 @@ public class SceneController {
             throw new IllegalStateException("Primary stage not set. Call setStage() before attempting to switch scenes.");
         }
         
-        FXMLLoader loader = new FXMLLoader(SceneController.class.getResource(fxmlFile));
-        Parent root = loader.load();
+        LoadedScreen screen = cachedScreen(fxmlFile);
+        boolean reactivated = screen != null && screen.scene != null;
+        if (screen == null) {
+            screen = load(fxmlFile);
+        }
+        if (screen.scene == null) {
+            screen.scene = new Scene(screen.root, SCENE_WIDTH, SCENE_HEIGHT);
+        }
+        remember(fxmlFile, screen);
+
         primaryStage.setTitle(title);
-        primaryStage.setScene(new Scene(root, 800, 600));
+        primaryStage.setScene(screen.scene);
         primaryStage.show();
+
+        if (shownScreen != null && shownScreen != screen && !cache.containsValue(shownScreen)) {
+            dispose(shownScreen);
+        }
+        shownScreen = screen;
+
+        if (reactivated && screen.controller instanceof Reactivatable controller) {
+            controller.onReactivated();
+        }
+    }
+
+    /**
+     * Loads screens on a background thread so that the first navigation to them is
+     * instant.
+     * <p>
+     * The FXML is parsed and the controllers initialized, including their initial
+     * database reads, off the JavaFX application thread; the scenes themselves are
+     * created when the screens are first shown. Screens that are already cached or
+     * being preloaded, and screens that are never cached, are skipped. Nothing is
+     * preloaded when the scene cache is disabled.
+     * <p>
+     * This method must be called on the JavaFX application thread.
+     *
+     * @param fxmlFiles The FXML files of the screens to load
+     */
+    public static void preload(String... fxmlFiles) {
+        for (String fxmlFile : fxmlFiles) {
+            if (!isCacheable(fxmlFile) || cache.containsKey(fxmlFile) || preloads.containsKey(fxmlFile)) {
+                continue;
+            }
+            int userId = SessionService.getCurrentUserId();
+            preloads.put(fxmlFile, PRELOAD_EXECUTOR.submit(() -> loadAs(userId, fxmlFile)));
+        }
+    }
+
+    /**
+     * Drops every cached and preloaded screen, so that each screen is loaded again
+     * on its next visit. Called on logout.
+     * <p>
+     * Every dropped screen whose controller is {@link Disposable} is disposed. A
+     * preload that is already running is disposed once it finishes.
+     */
+    public static void clearCache() {
+        for (Future<LoadedScreen> preload : preloads.values()) {
+            if (!preload.cancel(false)) {
+                PRELOAD_EXECUTOR.execute(() -> disposeWhenLoaded(preload));
+            }
+        }
+        preloads.clear();
+        for (LoadedScreen screen : cache.values()) {
+            dispose(screen);
+        }
+        cache.clear();
+    }
+
+    /**
+     * Disposes the screen of a preload that could not be cancelled. Runs on the
+     * preload thread after the preload, so it never waits.
+     */
+    private static void disposeWhenLoaded(Future<LoadedScreen> preload) {
+        try {
+            LoadedScreen screen = preload.get();
+            Platform.runLater(() -> dispose(screen));
+        } catch (ExecutionException e) {
+            // The preload failed, so there is nothing to dispose
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Notifies the controller of a dropped screen, if it is {@link Disposable} and
+     * has not been disposed yet.
+     */
+    private static void dispose(LoadedScreen screen) {
+        if (!screen.disposed && screen.controller instanceof Disposable controller) {
+            screen.disposed = true;
+            controller.onDisposed();
+        }
+    }
+
+    /**
+     * Returns the cached or preloaded screen for an FXML file, or null if the
+     * screen has to be loaded.
+     * <p>
+     * A preload that has not started yet is cancelled, as loading the screen on
+     * the calling thread is then faster than waiting for the preloads queued
+     * before it. A preload that failed is reported and the screen is loaded again.
+     */
+    private static LoadedScreen cachedScreen(String fxmlFile) {
+        if (!isCacheable(fxmlFile)) {
+            return null;
+        }
+        LoadedScreen screen = cache.get(fxmlFile);
+        Future<LoadedScreen> preload = preloads.remove(fxmlFile);
+        if (screen == null && preload != null && (preload.isDone() || !preload.cancel(false))) {
+            try {
+                screen = preload.get();
+            } catch (ExecutionException e) {
+                System.err.println("Error preloading " + fxmlFile + ": " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (screen != null && screen.userId != SessionService.getCurrentUserId()) {
+            clearCache();
+            return null;
+        }
+        return screen;
+    }
+
+    /**
+     * Keeps a screen that has just been shown, evicting the least recently shown
+     * screens beyond the configured cache size.
+     */
+    private static void remember(String fxmlFile, LoadedScreen screen) {
+        if (!isCacheable(fxmlFile)) {
+            return;
+        }
+        cache.put(fxmlFile, screen);
+        int capacity = AppConfig.get().getSceneCacheSize();
+        Iterator<LoadedScreen> eldest = cache.values().iterator();
+        while (cache.size() > capacity) {
+            dispose(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Indicates whether a screen may be kept loaded between visits.
+     */
+    private static boolean isCacheable(String fxmlFile) {
+        return AppConfig.get().getSceneCacheSize() > 0 && !UNCACHED_SCREENS.contains(fxmlFile);
+    }
+
+    /**
+     * Loads a screen on a preload thread for the user who asked for it, so that a
+     * logout or login while the screen is queued cannot load it for another user.
+     */
+    private static LoadedScreen loadAs(int userId, String fxmlFile) throws IOException {
+        try {
+            return SessionService.callAs(userId, () -> {
+                try {
+                    return load(fxmlFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses an FXML file and initializes its controller for the current user.
+     */
+    private static LoadedScreen load(String fxmlFile) throws IOException {
+        int userId = SessionService.getCurrentUserId();
+        FXMLLoader loader = new FXMLLoader(SceneController.class.getResource(fxmlFile));
+        Parent root = loader.load();
+        return new LoadedScreen(root, loader.getController(), userId);
     }
 }
\ No newline at end of file
@@ -1,14 +1,14 @@
 package com.example.blanza;
 
-import java.io.*;
-
 /**
- * Manages user session persistence in the Balanza application.
+ * Manages the session of the desktop application between application launches.
  * <p>
- * The SessionManager provides functionality to store, retrieve, and clear user session
- * information between application launches. It implements a simple file-based
- * persistence mechanism that saves the currently logged-in user's ID to a plain text file
- * on the local file system.
+ * The SessionManager keeps the token of the desktop user's session, issued by the
+ * {@link SessionStore}, and translates it to the user ID the rest of the application
+ * works with. Sessions are held in memory, so saving, loading and clearing a session
+ * never touches the disk; only when <code>SESSION_KEY</code> is configured does the
+ * store keep the session encrypted on disk, so the user stays logged in across
+ * application restarts.
  * <p>
  * This class enables features such as:
  * <ul>
@@ -19,58 +19,46 @@ import java.io.*;
  * <p>
  * All methods in this class are static, following a utility class pattern, to provide
  * global access to session management functionality throughout the application.
- * <p>
- * Implementation Note: This class uses a simple plaintext storage mechanism suitable for
- * development or applications with minimal security requirements. For production applications
- * handling sensitive user data, consider implementing a more secure session persistence
- * mechanism, such as encrypted storage or integration with OS-level credential managers.
- * 
+ *
  * @see SessionService
+ * @see SessionStore
  */
 public class SessionManager {
-    
+
     /**
-     * The name of the file where session information is stored.
+     * Token of the desktop session, or null when no session is active.
      * <p>
-     * This file is created in the application's working directory when a session
-     * is saved, and contains only the user ID of the currently logged-in user.
+     * The token is opaque and random; the user it belongs to is only known to the
+     * {@link SessionStore}, and only until the session expires.
      */
-    private static final String SESSION_FILE = "session.txt";
+    private static String token;
 
     /**
-     * Saves the current user's session to persistent storage.
+     * Starts a new desktop session for a user.
      * <p>
-     * This method writes the provided user ID to the session file, creating the file
-     * if it doesn't exist or overwriting it if it does. This persists the user's login
-     * state so the application can restore it on subsequent launches.
-     * <p>
-     * If an error occurs during the write operation, the exception is logged but not
-     * propagated, meaning the method will silently fail rather than disrupt application
-     * flow. This is appropriate for session persistence which is typically a non-critical
-     * feature.
+     * The previous desktop session, if any, is revoked and a new remembered session
+     * is issued by the {@link SessionStore}, so the user's login state can be
+     * restored on subsequent launches when session persistence is configured.
      *
      * @param userId The ID of the user whose session is being saved
      */
-    public static void saveSession(int userId) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(SESSION_FILE))) {
-            writer.write(String.valueOf(userId));
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        }
+    public static synchronized void saveSession(int userId) {
+        SessionStore.revoke(token);
+        token = SessionStore.issue(userId, true).token();
     }
 
     /**
-     * Loads the previously saved user session, if one exists.
+     * Loads the user of the desktop session, if one exists.
      * <p>
-     * This method attempts to read the user ID from the session file. If successful,
-     * it returns the ID of the previously logged-in user, allowing the application
-     * to automatically restore their session.
+     * On the first call after launch, the session remembered by the previous run is
+     * restored from the {@link SessionStore}. Later calls only look the session up in
+     * memory.
      * <p>
      * The method will return -1 in the following cases:
      * <ul>
-     *   <li>The session file does not exist (no previous session)</li>
-     *   <li>The session file is empty or corrupted</li>
-     *   <li>An IO error occurs while reading the file</li>
+     *   <li>No session was saved, or the saved session was cleared</li>
+     *   <li>The session has expired</li>
+     *   <li>The remembered session could not be restored</li>
      * </ul>
      * <p>
      * The application should interpret a return value of -1 as an indication that
@@ -78,20 +66,19 @@ public class SessionManager {
      *
      * @return The user ID from the saved session, or -1 if no valid session exists
      */
-    public static int loadSession() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(SESSION_FILE))) {
-            return Integer.parseInt(reader.readLine());
-        } catch (IOException | NumberFormatException e) {
-            return -1;  // No session found
+    public static synchronized int loadSession() {
+        if (token == null) {
+            token = SessionStore.restore();
         }
+        return SessionStore.resolve(token);
     }
 
     /**
-     * Clears the current user session.
+     * Clears the desktop session.
      * <p>
-     * This method deletes the session file, effectively logging the user out of
-     * the application. After calling this method, subsequent calls to {@link #loadSession()}
-     * will return -1 until a new session is saved.
+     * This method revokes the session in the {@link SessionStore}, effectively logging
+     * the user out of the application. After calling this method, subsequent calls to
+     * {@link #loadSession()} will return -1 until a new session is saved.
      * <p>
      * This method should be called when:
      * <ul>
@@ -100,10 +87,10 @@ public class SessionManager {
      *   <li>Security policies require terminating the session</li>
      * </ul>
      * <p>
-     * If the session file does not exist, this method does nothing and completes silently.
+     * If no session is active, this method does nothing and completes silently.
      */
-    public static void clearSession() {
-        File file = new File(SESSION_FILE);
-        if (file.exists()) file.delete();
+    public static synchronized void clearSession() {
+        SessionStore.revoke(token);
+        token = null;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.example.blanza;
 
+import java.util.function.Supplier;
+
 /**
  * Manages the user session state within the current application runtime.
  * <p>
@@ -31,6 +33,17 @@ package com.example.blanza;
  *   <li>Before operations, verify {@link #isLoggedIn()} to ensure a valid session exists</li>
  *   <li>When logging out, call {@link #clear()} to terminate the session</li>
  * </ol>
+ * <p>
+ * The desktop application has one logged-in user at a time, but work for a user
+ * does not always run on the JavaFX application thread. The headless
+ * {@link ApiServer} serves many users from one process, and background workers such
+ * as the reminder checker or the screen preloader keep running for a user after the
+ * session has changed. Such work runs inside {@link #callAs(int, Supplier)} or
+ * {@link #runAs(int, Runnable)}, which bind the user to a {@link ScopedValue} for the
+ * duration of the call. While the binding is in place, {@link #getCurrentUserId()}
+ * returns that user to everything the call reaches, and the data access objects,
+ * which read the user on every query, act for that user only. The binding ends with
+ * the call, so it cannot leak into the next task run by a pooled thread.
  * 
  * @see SessionManager for persistent session storage between application launches
  */
@@ -45,7 +58,10 @@ public class SessionService {
      * This field is modified through the service methods rather than accessed directly,
      * providing controlled access to the session state.
      */
-    private static int currentUserId = -1;
+    private static volatile int currentUserId = -1;
+
+    /** User bound by {@link #callAs(int, Supplier)} or {@link #runAs(int, Runnable)}, if any */
+    private static final ScopedValue<Integer> BOUND_USER = ScopedValue.newInstance();
 
     /**
      * Retrieves the ID of the currently authenticated user.
@@ -63,10 +79,42 @@ public class SessionService {
      * logged in by calling {@link #isLoggedIn()}, as this method will return -1 if
      * no session is active.
      *
+     * Inside {@link #callAs(int, Supplier)} or {@link #runAs(int, Runnable)}, the
+     * user bound by the call is returned instead of the logged-in user.
+     *
      * @return The ID of the currently authenticated user, or -1 if no user is logged in
      */
     public static int getCurrentUserId() {
-        return currentUserId;
+        return BOUND_USER.isBound() ? BOUND_USER.get() : currentUserId;
+    }
+
+    /**
+     * Runs a piece of work on behalf of a user, without changing the session of
+     * the desktop application.
+     * <p>
+     * For the duration of the call, {@link #getCurrentUserId()} returns the given
+     * user to the work and everything it calls. Other threads, including the JavaFX
+     * application thread, keep seeing their own user. Calls can be nested; the outer
+     * binding is visible again when the inner call returns.
+     *
+     * @param userId The user to act for
+     * @param work The work to run
+     * @param <T> The type of the result
+     * @return The result of the work
+     */
+    public static <T> T callAs(int userId, Supplier<T> work) {
+        return ScopedValue.where(BOUND_USER, userId).call(work::get);
+    }
+
+    /**
+     * Runs a piece of work that produces no result on behalf of a user.
+     *
+     * @param userId The user to act for
+     * @param work The work to run
+     * @see #callAs(int, Supplier)
+     */
+    public static void runAs(int userId, Runnable work) {
+        ScopedValue.where(BOUND_USER, userId).run(work);
     }
 
     /**
@@ -154,6 +202,6 @@ public class SessionService {
      * @return {@code true} if a user is currently logged in, {@code false} otherwise
      */
     public static boolean isLoggedIn() {
-        return currentUserId != -1;
+        return getCurrentUserId() != -1;
     }
 }
\ No newline at end of file
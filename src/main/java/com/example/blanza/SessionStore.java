@@ -0,0 +1,286 @@
+package com.example.blanza;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the sessions of logged-in users in memory, keyed by random opaque tokens.
+ * <p>
+ * A session is issued with {@link #issue(int, boolean)} when a user logs in and is
+ * looked up with {@link #resolve(String)}. Tokens carry no user information: they are
+ * 32 random bytes from a {@link SecureRandom}, so a token can only be used by whoever
+ * received it. Sessions expire after the <code>SESSION_TTL_HOURS</code> setting; an
+ * expired session is dropped when it is next resolved, and a background task purges
+ * the others every hour. Any number of sessions can be active at the same time, for
+ * the desktop application and for clients of the {@link ApiServer}.
+ * <p>
+ * Resolving a session only reads the in-memory map. Sessions issued as
+ * <i>remembered</i>, such as the session of the desktop application, are also written
+ * to the <code>sessions.dat</code> file when <code>SESSION_KEY</code> is set, encrypted
+ * with AES-GCM under that key, so they survive a restart. The file is written only when
+ * a remembered session is issued or revoked, and read once, by {@link #restore()}.
+ * Without a key, every session ends with the process.
+ *
+ * @see SessionManager
+ * @see SessionService
+ */
+public class SessionStore {
+
+    /** File holding the encrypted remembered sessions */
+    private static final Path STORE_FILE = Paths.get("sessions.dat");
+
+    /** Number of random bytes in a token */
+    private static final int TOKEN_BYTES = 32;
+
+    /** Length of the AES-GCM nonce written before the encrypted sessions */
+    private static final int IV_BYTES = 12;
+
+    /** Length of the AES-GCM authentication tag, in bits */
+    private static final int TAG_BITS = 128;
+
+    /** Source of tokens and nonces */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Active sessions by token */
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /** Whether the remembered sessions have been read from disk */
+    private static boolean restored;
+
+    /** Removes expired sessions that are never resolved again */
+    private static final ScheduledExecutorService PURGER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        PURGER.scheduleWithFixedDelay(SessionStore::purgeExpired, 1, 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * An issued session.
+     *
+     * @param token The opaque token identifying the session
+     * @param userId The user the session belongs to
+     * @param expiresAt The time the session stops being valid
+     * @param remembered Whether the session is persisted across restarts
+     */
+    public record Session(String token, int userId, Instant expiresAt, boolean remembered) {
+
+        /**
+         * Checks whether the session has expired.
+         *
+         * @param now The current time
+         * @return true if the session is no longer valid
+         */
+        public boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * Starts a new session for a user.
+     *
+     * @param userId The user the session belongs to
+     * @param remembered Whether the session should survive a restart, when a
+     *                   session key is configured
+     * @return The new session
+     */
+    public static Session issue(int userId, boolean remembered) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, userId, Instant.now().plus(AppConfig.get().getSessionTtl()), remembered);
+        sessions.put(token, session);
+        if (remembered) {
+            persist();
+        }
+        return session;
+    }
+
+    /**
+     * Finds the user of a session.
+     *
+     * @param token The session token, or null
+     * @return The user ID, or -1 if the token is unknown or its session has expired
+     */
+    public static int resolve(String token) {
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) {
+            return -1;
+        }
+        if (session.isExpired(Instant.now())) {
+            revoke(token);
+            return -1;
+        }
+        return session.userId();
+    }
+
+    /**
+     * Ends a session. Unknown tokens are ignored.
+     *
+     * @param token The session token, or null
+     */
+    public static void revoke(String token) {
+        Session session = token == null ? null : sessions.remove(token);
+        if (session != null && session.remembered()) {
+            persist();
+        }
+    }
+
+    /**
+     * Removes every expired session.
+     */
+    public static void purgeExpired() {
+        Instant now = Instant.now();
+        boolean[] rememberedRemoved = {false};
+        sessions.values().removeIf(session -> {
+            if (!session.isExpired(now)) {
+                return false;
+            }
+            rememberedRemoved[0] |= session.remembered();
+            return true;
+        });
+        if (rememberedRemoved[0]) {
+            persist();
+        }
+    }
+
+    /**
+     * Reads the remembered sessions from disk, the first time it is called, and
+     * returns the one that expires last.
+     * <p>
+     * Nothing is read when no session key is configured. A file that cannot be
+     * decrypted, because the key changed or the file was modified, is reported and
+     * ignored.
+     *
+     * @return The token of the latest remembered session, or null if there is none
+     */
+    public static String restore() {
+        synchronized (SessionStore.class) {
+            if (!restored) {
+                restored = true;
+                readStoreFile();
+            }
+        }
+        Instant now = Instant.now();
+        Session latest = null;
+        for (Session session : sessions.values()) {
+            if (session.remembered() && !session.isExpired(now)
+                    && (latest == null || session.expiresAt().isAfter(latest.expiresAt()))) {
+                latest = session;
+            }
+        }
+        return latest == null ? null : latest.token();
+    }
+
+    /**
+     * Loads the sessions of the store file into the map.
+     */
+    private static void readStoreFile() {
+        SecretKeySpec key = storeKey();
+        if (key == null) {
+            return;
+        }
+        try {
+            byte[] data = Files.readAllBytes(STORE_FILE);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            String text = new String(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+            Instant now = Instant.now();
+            for (String line : text.split("\n")) {
+                String[] fields = line.split("\t");
+                if (fields.length != 3) {
+                    continue;
+                }
+                Session session = new Session(fields[0], Integer.parseInt(fields[1]),
+                        Instant.ofEpochMilli(Long.parseLong(fields[2])), true);
+                if (!session.isExpired(now)) {
+                    sessions.putIfAbsent(session.token(), session);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // No session was remembered yet
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            System.err.println("Error reading saved sessions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the remembered sessions to the store file, replacing its contents.
+     * Sessions saved by an earlier run are read first, so none of them is lost.
+     */
+    private static synchronized void persist() {
+        SecretKeySpec key = storeKey();
+        if (key == null) {
+            return;
+        }
+        if (!restored) {
+            restored = true;
+            readStoreFile();
+        }
+        StringBuilder text = new StringBuilder();
+        for (Session session : sessions.values()) {
+            if (session.remembered()) {
+                text.append(session.token()).append('\t').append(session.userId()).append('\t')
+                        .append(session.expiresAt().toEpochMilli()).append('\n');
+            }
+        }
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(text.toString().getBytes(StandardCharsets.UTF_8));
+            byte[] data = Arrays.copyOf(iv, IV_BYTES + encrypted.length);
+            System.arraycopy(encrypted, 0, data, IV_BYTES, encrypted.length);
+
+            Path temp = STORE_FILE.resolveSibling(STORE_FILE.getFileName() + ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, STORE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | GeneralSecurityException e) {
+            System.err.println("Error saving sessions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the configured session key.
+     *
+     * @return The AES key, or null if none is configured or it is not a valid key
+     */
+    private static SecretKeySpec storeKey() {
+        String encoded = AppConfig.get().getSessionKey();
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            byte[] key = Base64.getDecoder().decode(encoded);
+            if (key.length == 16 || key.length == 24 || key.length == 32) {
+                return new SecretKeySpec(key, "AES");
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        System.err.println("SESSION_KEY must be a base64 AES key of 16, 24 or 32 bytes");
+        return null;
+    }
+}
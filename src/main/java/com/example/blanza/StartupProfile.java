@@ -0,0 +1,114 @@
+package com.example.blanza;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each phase of application startup takes.
+ * <p>
+ * {@link Main} runs the startup phases in parallel on background threads and wraps
+ * each of them in {@link #time(String, Supplier)} or {@link #run(String, Runnable)}.
+ * Every phase is recorded twice:
+ * <ul>
+ *   <li>as a <code>com.example.blanza.StartupPhase</code> Java Flight Recorder event,
+ *       visible in a recording started with <code>-XX:StartFlightRecording</code></li>
+ *   <li>in a one-line summary printed by {@link #print()}, giving the start offset
+ *       and duration of each phase relative to the creation of the profile</li>
+ * </ul>
+ * Milestones without a duration, such as the window being shown, are recorded with
+ * {@link #mark(String)}.
+ *
+ * @see Main
+ */
+public class StartupProfile {
+
+    /**
+     * Flight Recorder event for one startup phase.
+     */
+    @Name("com.example.blanza.StartupPhase")
+    @Label("Startup Phase")
+    @Category({"Balanza", "Startup"})
+    public static class PhaseEvent extends Event {
+        /** Name of the phase */
+        @Label("Phase")
+        String phase;
+    }
+
+    /** Time the profile was created, in nanoseconds */
+    private final long origin = System.nanoTime();
+
+    /** Recorded phases and milestones, in completion order */
+    private final List<String> entries = new ArrayList<>();
+
+    /**
+     * Runs a phase that produces a value and records its timing.
+     *
+     * @param phase the name of the phase
+     * @param work the work of the phase
+     * @param <T> the type of the value
+     * @return the value produced by the phase
+     */
+    public <T> T time(String phase, Supplier<T> work) {
+        PhaseEvent event = new PhaseEvent();
+        event.phase = phase;
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long end = System.nanoTime();
+            event.commit();
+            record(phase + " " + millis(end - start) + " ms (at " + millis(start - origin) + " ms)");
+        }
+    }
+
+    /**
+     * Runs a phase and records its timing.
+     *
+     * @param phase the name of the phase
+     * @param work the work of the phase
+     */
+    public void run(String phase, Runnable work) {
+        time(phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a milestone.
+     *
+     * @param milestone the name of the milestone
+     */
+    public void mark(String milestone) {
+        record(milestone + " at " + millis(System.nanoTime() - origin) + " ms");
+    }
+
+    /**
+     * Prints the recorded phases and milestones on one line.
+     */
+    public synchronized void print() {
+        System.out.println("Startup: " + String.join(", ", entries));
+    }
+
+    /**
+     * Adds an entry to the summary.
+     */
+    private synchronized void record(String entry) {
+        entries.add(entry);
+    }
+
+    /**
+     * Converts nanoseconds to whole milliseconds.
+     */
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
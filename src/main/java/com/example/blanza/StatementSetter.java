@@ -14,7 +14,7 @@ import java.sql.SQLException;
  * This functional interface is primarily used in the application's database 
  * access layer to separate the concerns of:
  * <ul>
- *   <li>SQL query definition (provided by {@link SQLLoader})</li>
+ *   <li>SQL query definition (provided by {@link Query})</li>
  *   <li>Database connection management (handled by {@link Database})</li>
  *   <li>Parameter binding (implemented via this interface)</li>
  *   <li>Result processing (typically handled by result handlers)</li>
@@ -26,20 +26,11 @@ import java.sql.SQLException;
  * <p>
  * Example usage:
  * <pre>{@code
- * // Simple implementation with lambda expression
- * StatementSetter userParams = stmt -> {
- *     stmt.setString(1, username);
- *     stmt.setString(2, hashedPassword);
- * };
- * 
- * // Using the setter with a database operation
- * User user = DatabaseManager.executeQuery(
- *     SQLLoader.get("findUserByCredentials"),
- *     userParams,
- *     resultSet -> {
- *         // Map result set to User object
- *     }
- * );
+ * // Bind the parameters of a catalogue query with a lambda expression
+ * executeUpdateQuery(Query.SET_OTP, stmt -> {
+ *     stmt.setString(1, otp);
+ *     stmt.setString(2, email);
+ * });
  * }</pre>
  * <p>
  * By using this functional interface, the application can maintain a clean
@@ -47,7 +38,7 @@ import java.sql.SQLException;
  * maintainability and reduces the risk of SQL injection vulnerabilities.
  * 
  * @see Database
- * @see SQLLoader
+ * @see Query
  * @see PreparedStatement
  */
 @FunctionalInterface
@@ -1,6 +1,8 @@
 package com.example.blanza;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -10,9 +12,10 @@ import javafx.scene.layout.VBox;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import javafx.scene.layout.HBox;
 
 /**
@@ -107,20 +110,26 @@ public class TrackExpenses {
     /**
      * ListView component displaying all user expenses.
      * <p>
-     * Each item in the list represents an expense with its category, amount, and date.
+     * Each item in the list is an expense, rendered with its category, amount, and date.
      * The list is populated in the {@link #loadExpenses()} method.
      */
     @FXML
-    private ListView<String> expenseListView;
+    private ListView<Expense> expenseListView;
+
+    /**
+     * Fills the expense list page by page as the user scrolls.
+     */
+    private PageLoader<Expense> expensePages;
 
     /**
      * Updates the displayed expense count.
      * <p>
      * This method retrieves the current number of expenses from the expense manager
      * and updates the expense count label with the appropriate singular or plural form.
+     * The count does not depend on how many pages of the list have been loaded.
      */
     private void updateExpenseCount() {
-        int count = expenseManager.getAll().size();
+        int count = expenseManager.getCount();
         expenseCount.setText(count + (count == 1 ? " item" : " items"));
     }
 
@@ -129,7 +138,7 @@ public class TrackExpenses {
      * <p>
      * This method is automatically called by JavaFX when the view is loaded. It:
      * <ol>
-     *   <li>Initializes the expense manager service</li>
+     *   <li>Gets the current user's shared expense manager</li>
      *   <li>Updates the financial dashboard summary</li>
      *   <li>Loads and displays existing expenses</li>
      *   <li>Updates the expense count indicator</li>
@@ -140,7 +149,7 @@ public class TrackExpenses {
      */
     @FXML
     private void initialize() {
-        expenseManager = new ExpenseManager();
+        expenseManager = ExpenseManager.forCurrentUser();
         updateDashboard();
         loadExpenses();
         updateExpenseCount();
@@ -156,7 +165,7 @@ public class TrackExpenses {
      *   <li>Populates category and payment method dropdowns with existing values</li>
      *   <li>Validates user input</li>
      *   <li>Creates and saves the new expense when input is valid</li>
-     *   <li>Updates the UI to reflect the new expense</li>
+     *   <li>Inserts the new expense into the loaded rows of the list and updates the totals</li>
      * </ol>
      * <p>
      * The dialog supports both selecting from existing categories/payment methods
@@ -279,14 +288,17 @@ public class TrackExpenses {
         Optional<Expense> result = dialog.showAndWait();
         
         result.ifPresent(expense -> {
-            expenseManager.addEntity(expense);
+            if (!expenseManager.addEntity(expense)) {
+                showErrorAlert(expense.getAmount() < 0 ? "Amount cannot be negative" : "Could not save the expense");
+                return;
+            }
             
             
             showSuccessAlert("Expense added successfully!");
             
             
             updateDashboard();
-            loadExpenses();
+            expensePages.add(expense);
             updateExpenseCount();
         });
     }
@@ -346,13 +358,13 @@ public class TrackExpenses {
     }
 
     /**
-     * Populates the category ComboBox with predefined and existing categories.
+     * Populates the category ComboBox with existing and predefined categories.
      * <p>
      * This method:
      * <ol>
-     *   <li>Adds common expense categories as default options</li>
-     *   <li>Adds all unique categories from existing expenses</li>
-     *   <li>Ensures no duplicate categories by using a Set</li>
+     *   <li>Adds the user's categories from the expense dictionary, most used first</li>
+     *   <li>Adds common expense categories the user has not used yet</li>
+     *   <li>Ensures no duplicate categories by using a LinkedHashSet</li>
      * </ol>
      * <p>
      * The ComboBox is configured to be editable, allowing users to create
@@ -362,7 +374,7 @@ public class TrackExpenses {
      */
     private void populateCategoryComboBox(ComboBox<String> comboBox) {
         
-        Set<String> categories = new HashSet<>();
+        Set<String> categories = new LinkedHashSet<>(expenseManager.getCategories());
         
         
         categories.add("Food");
@@ -372,22 +384,17 @@ public class TrackExpenses {
         categories.add("Utilities");
         categories.add("Healthcare");
         
-        
-        for (Expense expense : expenseManager.getAll()) {
-            categories.add(expense.getCategory());
-        }
-        
         comboBox.getItems().addAll(categories);
     }
 
     /**
-     * Populates the payment method ComboBox with predefined and existing methods.
+     * Populates the payment method ComboBox with existing and predefined methods.
      * <p>
      * This method:
      * <ol>
-     *   <li>Adds common payment methods as default options</li>
-     *   <li>Adds all unique payment methods from existing expenses</li>
-     *   <li>Ensures no duplicate methods by using a Set</li>
+     *   <li>Adds the user's payment methods from the expense dictionary, most used first</li>
+     *   <li>Adds common payment methods the user has not used yet</li>
+     *   <li>Ensures no duplicate methods by using a LinkedHashSet</li>
      * </ol>
      * <p>
      * The ComboBox is configured to be editable, allowing users to create
@@ -397,7 +404,7 @@ public class TrackExpenses {
      */
     private void populatePaymentMethodComboBox(ComboBox<String> comboBox) {
         
-        Set<String> paymentMethods = new HashSet<>();
+        Set<String> paymentMethods = new LinkedHashSet<>(expenseManager.getPaymentMethods());
         
         
         paymentMethods.add("Cash");
@@ -407,11 +414,6 @@ public class TrackExpenses {
         paymentMethods.add("Bank Transfer");
         
         
-        for (Expense expense : expenseManager.getAll()) {
-            paymentMethods.add(expense.getPaymentMethod());
-        }
-        
-        
         comboBox.getItems().addAll(paymentMethods);
     }
 
@@ -434,6 +436,8 @@ public class TrackExpenses {
      * <p>
      * This method refreshes the expense total displayed in the UI based on
      * the current expense data. It formats the total with a currency symbol.
+     * The manager keeps the total up to date as expenses are added, so this
+     * does not re-sum the expense history.
      */
     private void updateDashboard() {
         expenses.setText("$" + expenseManager.getTotal());
@@ -444,19 +448,25 @@ public class TrackExpenses {
      * <p>
      * This method:
      * <ol>
-     *   <li>Clears the existing list items</li>
-     *   <li>Configures a custom cell factory for formatting expense entries</li>
+     *   <li>Configures a custom cell factory that renders the fields of each expense</li>
+     *   <li>Reads the first page of expenses, in date order</li>
      *   <li>Creates column headers if expenses exist</li>
-     *   <li>Populates the list with formatted expense entries</li>
      *   <li>Sets a meaningful placeholder when no expenses exist</li>
      * </ol>
      * <p>
      * Each expense is displayed with its category, amount, and date in a
-     * structured layout with consistent styling.
+     * structured layout with consistent styling. The ListView only creates cells
+     * for the visible rows, and each cell reads the fields of its Expense directly,
+     * so no display strings are built for rows that are never shown. When the cell
+     * of the last loaded expense is rendered, the next page is read from the
+     * database.
      */
     private void loadExpenses() {
-        expenseListView.getItems().clear();
-        expenseListView.setCellFactory(param -> new ListCell<String>() {
+        ObservableList<Expense> items = FXCollections.observableArrayList();
+        expensePages = new PageLoader<>(items, PageCursor.FIRST, expenseManager::getPage,
+                Comparator.comparing(Expense::getDate).thenComparing(Expense::getId));
+        expenseListView.setItems(items);
+        expenseListView.setCellFactory(param -> new ListCell<Expense>() {
             private final HBox container = new HBox(15);
             private final Label categoryLabel = new Label();
             private final Label amountLabel = new Label();
@@ -475,6 +485,7 @@ public class TrackExpenses {
                 
                 amountLabel.getStyleClass().add("stat-value");
                 amountLabel.setMinWidth(100);
+                amountLabel.setStyle("-fx-text-fill: -accent-color;");
                 
                 
                 dateLabel.getStyleClass().add("timestamp-label");
@@ -484,30 +495,27 @@ public class TrackExpenses {
             }
             
             @Override
-            protected void updateItem(String item, boolean empty) {
+            protected void updateItem(Expense item, boolean empty) {
                 super.updateItem(item, empty);
                 
                 if (empty || item == null) {
                     setGraphic(null);
                 } else {
+                    categoryLabel.setText(item.getCategory());
+                    amountLabel.setText("$" + item.getAmount());
+                    dateLabel.setText(item.getDate().toString());
                     
-                    String[] parts = item.split(" - ");
-                    if (parts.length >= 3) {
-                        categoryLabel.setText(parts[0]);
-                        amountLabel.setText(parts[1]);
-                        dateLabel.setText(parts[2]);
-                        
-                        
-                        amountLabel.setStyle("-fx-text-fill: -accent-color;");
-                        
-                        setGraphic(container);
-                    }
+                    setGraphic(container);
+                    expensePages.rowShown(getIndex());
                 }
             }
         });
         
         
-        if (expenseListView.getItems().isEmpty() && !expenseManager.getAll().isEmpty()) {
+        expensePages.reload();
+        
+        
+        if (!items.isEmpty()) {
             
             HBox headerContainer = new HBox(15);
             headerContainer.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
@@ -529,12 +537,7 @@ public class TrackExpenses {
         }
         
         
-        for (Expense expense : expenseManager.getAll()) {
-            expenseListView.getItems().add(expense.getCategory() + " - $" + expense.getAmount() + " - " + expense.getDate());
-        }
-        
-        
-        if (expenseListView.getItems().isEmpty()) {
+        if (items.isEmpty()) {
             Label placeholder = new Label("No expenses found. Click '+ Add Expense' to get started!");
             placeholder.getStyleClass().add("insight-label");
             placeholder.setWrapText(true);
@@ -0,0 +1,34 @@
+package com.example.blanza;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A functional interface for a unit of work that runs inside a database transaction.
+ * <p>
+ * {@link Database#executeInTransaction(TransactionCallback)} opens a connection, turns
+ * off auto-commit and passes the connection to this callback. All statements the
+ * callback runs on that connection are committed together when it returns normally,
+ * and rolled back together if it throws.
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * executeInTransaction(conn -> {
+ *     executeUpdateQuery(conn, Query.INSERT_EXPENSE, insertParams);
+ *     executeUpdateQuery(conn, Query.INCREMENT_EXPENSE_DICTIONARY, dictionaryParams);
+ * });
+ * }</pre>
+ *
+ * @see Database
+ */
+@FunctionalInterface
+public interface TransactionCallback {
+
+    /**
+     * Runs the work of the transaction.
+     *
+     * @param conn The connection the transaction runs on
+     * @throws SQLException If a statement fails; the transaction is then rolled back
+     */
+    void execute(Connection conn) throws SQLException;
+}
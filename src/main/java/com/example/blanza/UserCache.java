@@ -0,0 +1,124 @@
+package com.example.blanza;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded in-memory cache of {@link User} profile records, which carry no
+ * password or OTP.
+ * <p>
+ * The application looks the same user up repeatedly, by username during signup and
+ * by id during OTP verification and reminder delivery.
+ * This cache keeps the most recently used users so those lookups are answered
+ * without opening a database connection.
+ * <p>
+ * Entries are indexed by id, email and username. The cache holds at most
+ * {@link #MAX_ENTRIES} users and evicts the least recently used one when full.
+ * {@link UserDB} invalidates an entry whenever it writes to that user's row, so
+ * cached records never outlive an OTP change, a verification or a removal.
+ *
+ * @see UserDB
+ */
+public class UserCache {
+
+    /** Maximum number of users kept in the cache */
+    private static final int MAX_ENTRIES = 64;
+
+    /** Secondary index from email to user id */
+    private static final Map<String, Integer> idByEmail = new HashMap<>();
+
+    /** Secondary index from username to user id */
+    private static final Map<String, Integer> idByUsername = new HashMap<>();
+
+    /** Cached users by id, in access order so the eldest entry is the least recently used */
+    private static final Map<Integer, User> usersById = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, User> eldest) {
+            if (size() > MAX_ENTRIES) {
+                idByEmail.remove(eldest.getValue().getEmail());
+                idByUsername.remove(eldest.getValue().getUsername());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Gets a cached user by id.
+     *
+     * @param id the user id
+     * @return the cached user, or null if not cached
+     */
+    public static synchronized User getById(int id) {
+        return usersById.get(id);
+    }
+
+    /**
+     * Gets a cached user by email.
+     *
+     * @param email the email
+     * @return the cached user, or null if not cached
+     */
+    public static synchronized User getByEmail(String email) {
+        Integer id = idByEmail.get(email);
+        return id == null ? null : usersById.get(id);
+    }
+
+    /**
+     * Gets a cached user by username.
+     *
+     * @param username the username
+     * @return the cached user, or null if not cached
+     */
+    public static synchronized User getByUsername(String username) {
+        Integer id = idByUsername.get(username);
+        return id == null ? null : usersById.get(id);
+    }
+
+    /**
+     * Adds or replaces a user in the cache.
+     *
+     * @param user the user loaded from the database
+     */
+    public static synchronized void put(User user) {
+        invalidateById(user.getId());
+        usersById.put(user.getId(), user);
+        idByEmail.put(user.getEmail(), user.getId());
+        idByUsername.put(user.getUsername(), user.getId());
+    }
+
+    /**
+     * Removes the user with the given id from the cache.
+     *
+     * @param id the user id
+     */
+    public static synchronized void invalidateById(int id) {
+        User user = usersById.remove(id);
+        if (user != null) {
+            idByEmail.remove(user.getEmail());
+            idByUsername.remove(user.getUsername());
+        }
+    }
+
+    /**
+     * Removes the user with the given email from the cache.
+     *
+     * @param email the email
+     */
+    public static synchronized void invalidateByEmail(String email) {
+        Integer id = idByEmail.get(email);
+        if (id != null) {
+            invalidateById(id);
+        }
+    }
+
+    /**
+     * Removes every user from the cache.
+     */
+    public static synchronized void clear() {
+        usersById.clear();
+        idByEmail.clear();
+        idByUsername.clear();
+    }
+}
@@ -1,11 +1,78 @@
 package com.example.blanza;
 
-import java.sql.*;
+import java.util.List;
 
 /**
  * The type User db.
+ * <p>
+ * Database access class for {@link User} records. It extends {@link Database}, so
+ * every query runs through the shared connection handling and closes its
+ * statements and result sets. All user profile rows are mapped by a single
+ * {@link #USER_MAPPER}.
+ * <p>
+ * Profile lookups never read the password or the OTP of a user. Those are only
+ * read by {@link #getCredentialsByEmail(String)} during login, and by
+ * {@link #getUserOTPByID(int)} during OTP verification.
+ * <p>
+ * User lookups are served from {@link UserCache} when possible, and every write
+ * invalidates the cached entry of the affected user.
  */
-public class UserDB {
+public class UserDB extends Database<User> {
+    /**
+     * Maps a users profile row to a User object without credentials, reading
+     * columns by index.
+     */
+    private static final ResultSetMapper<User> USER_MAPPER = ResultSetMapper.indexed(columns -> {
+        int id = columns.of("id");
+        int username = columns.of("username");
+        int email = columns.of("email");
+        int phoneNumber = columns.of("phoneNumber");
+        int verified = columns.of("verified");
+
+        return rs -> new User(
+                rs.getInt(id),
+                rs.getString(username),
+                rs.getString(email),
+                rs.getString(phoneNumber),
+                null,
+                null,
+                rs.getBoolean(verified)
+        );
+    });
+
+    /**
+     * The credentials checked when a user logs in.
+     *
+     * @param id the user id
+     * @param password the stored password
+     * @param otp the last OTP sent to the user, or null if none was sent
+     * @param verified whether the user has verified their email
+     */
+    public record Credentials(int id, String password, String otp, boolean verified) {
+    }
+
+    /**
+     * Insert user into database.
+     *
+     * @param user the user to insert
+     * @return true if the user was stored
+     */
+    @Override
+    public boolean insertToDatabase(User user) {
+        return insertUserDB(user.getUsername(), user.getEmail(), user.getPhoneNumber(), user.getPassword()) != -1;
+    }
+
+    /**
+     * Users are only ever looked up one at a time, and listing them would expose
+     * every password and OTP, so no users are returned.
+     *
+     * @return an empty list
+     */
+    @Override
+    public List<User> getAllFromDatabase() {
+        return List.of();
+    }
+
     /**
      * Insert user db.
      *
@@ -13,22 +80,16 @@ public class UserDB {
      * @param email       the email
      * @param phoneNumber the phone number
      * @param password    the password
+     * @return the generated user id, or -1 if the user could not be inserted
      */
-    public static void insertUserDB(String username, String email, String phoneNumber, String password) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            if (conn != null) {
-                String sql = SQLLoader.get("insert_user");
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, username);
-                stmt.setString(2, email);
-                stmt.setString(3, phoneNumber);
-                stmt.setString(4, password);
-                stmt.setString(5, null);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-        }
+    public int insertUserDB(String username, String email, String phoneNumber, String password) {
+        return executeInsertQuery(Query.INSERT_USER, stmt -> {
+            stmt.setString(1, username);
+            stmt.setString(2, email);
+            stmt.setString(3, phoneNumber);
+            stmt.setString(4, password);
+            stmt.setString(5, null);
+        });
     }
 
     /**
@@ -36,49 +97,54 @@ public class UserDB {
      *
      * @param email the email
      */
-    public static void removeUserDB(String email) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            if (conn != null) {
-                String sql = SQLLoader.get("remove_user");
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, email);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-        }
+    public void removeUserDB(String email) {
+        executeUpdateQuery(Query.REMOVE_USER, stmt -> stmt.setString(1, email));
+        UserCache.invalidateByEmail(email);
     }
 
-
     /**
      * Gets user info by username.
      *
      * @param username the username
      * @return the user info by username
      */
-    public static User getUserInfoByUsername(String username) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            if (conn != null) {
-                String sql = SQLLoader.get("get_user_info_by_username");
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, username);
-                ResultSet userRecord = stmt.executeQuery();
-                if (userRecord.next()) {
-                    return new User(
-                            userRecord.getInt("id"),
-                            userRecord.getString("username"),
-                            userRecord.getString("email"),
-                            userRecord.getString("phoneNumber"),
-                            userRecord.getString("password"),
-                            userRecord.getString("otp"),
-                            userRecord.getBoolean("verified")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
+    public User getUserInfoByUsername(String username) {
+        User cached = UserCache.getByUsername(username);
+        if (cached != null) {
+            return cached;
         }
-        return null;
+        return cache(executeSingleQuery(Query.GET_USER_INFO_BY_USERNAME,
+                stmt -> stmt.setString(1, username), USER_MAPPER));
+    }
+
+    /**
+     * Checks whether a username is already taken.
+     * <p>
+     * Only the id column is read, so no credentials are loaded for the check.
+     *
+     * @param username the username
+     * @return true if a user with this username exists
+     */
+    public boolean usernameExists(String username) {
+        if (UserCache.getByUsername(username) != null) {
+            return true;
+        }
+        return executeSingleQuery(Query.GET_USER_ID_BY_USERNAME,
+                stmt -> stmt.setString(1, username), rs -> rs.getInt(1)) != null;
+    }
+
+    /**
+     * Gets the credentials of a user for a login check.
+     * <p>
+     * Credentials are always read from the database and never cached, so a login
+     * sees the latest password and OTP.
+     *
+     * @param email the email
+     * @return the credentials, or null if no user has this email
+     */
+    public Credentials getCredentialsByEmail(String email) {
+        return executeSingleQuery(Query.GET_USER_CREDENTIALS_BY_EMAIL, stmt -> stmt.setString(1, email),
+                rs -> new Credentials(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getBoolean(4)));
     }
 
     /**
@@ -87,29 +153,13 @@ public class UserDB {
      * @param email the email
      * @return the user info by email
      */
-    public static User getUserInfoByEmail(String email) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)) {
-            String sql = SQLLoader.get("get_user_info_by_email");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, email);
-                ResultSet userRecord = stmt.executeQuery();
-                if (userRecord.next()){
-                    return new User(
-                            userRecord.getInt("id"),
-                            userRecord.getString("username"),
-                            userRecord.getString("email"),
-                            userRecord.getString("phoneNumber"),
-                            userRecord.getString("password"),
-                            userRecord.getString("otp"),
-                            userRecord.getBoolean("verified")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
+    public User getUserInfoByEmail(String email) {
+        User cached = UserCache.getByEmail(email);
+        if (cached != null) {
+            return cached;
         }
-        return null;
+        return cache(executeSingleQuery(Query.GET_USER_INFO_BY_EMAIL,
+                stmt -> stmt.setString(1, email), USER_MAPPER));
     }
 
     /**
@@ -118,21 +168,13 @@ public class UserDB {
      * @param id the user id
      * @return the user email
      */
-    public static String getUserEmailById(int id) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)) {
-            String sql = SQLLoader.get("get_user_email_by_id");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, id);
-                ResultSet userRecord = stmt.executeQuery();
-                if (userRecord.next()) {
-                    return userRecord.getString("email");
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
+    public String getUserEmailById(int id) {
+        User cached = UserCache.getById(id);
+        if (cached != null) {
+            return cached.getEmail();
         }
-        return null;
+        return executeSingleQuery(Query.GET_USER_EMAIL_BY_ID,
+                stmt -> stmt.setInt(1, id), rs -> rs.getString(1));
     }
 
     /**
@@ -141,64 +183,61 @@ public class UserDB {
      * @param email the email
      * @param otp   the otp
      */
-    public static void setOTP(String email, String otp) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            String sql = SQLLoader.get("set_otp");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setString(1, otp);
-                stmt.setString(2, email);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-        }
+    public void setOTP(String email, String otp) {
+        executeUpdateQuery(Query.SET_OTP, stmt -> {
+            stmt.setString(1, otp);
+            stmt.setString(2, email);
+        });
+        UserCache.invalidateByEmail(email);
     }
 
-    public static void setVerified(int id) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            String sql = SQLLoader.get("set_verified");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, id);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
-        }
+    /**
+     * Marks a user as verified.
+     *
+     * @param id the user id
+     */
+    public void setVerified(int id) {
+        executeUpdateQuery(Query.SET_VERIFIED, stmt -> stmt.setInt(1, id));
+        UserCache.invalidateById(id);
     }
 
-    public static String getUserOTPByID(int id) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            String sql = SQLLoader.get("get_user_otp_by_id");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, id);
-                ResultSet user = stmt.executeQuery();
-                if (user.next()) {
-                    return user.getString("otp");
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
+    /**
+     * Gets user otp by id.
+     *
+     * @param id the user id
+     * @return the user otp
+     */
+    public String getUserOTPByID(int id) {
+        return executeSingleQuery(Query.GET_USER_OTP_BY_ID,
+                stmt -> stmt.setInt(1, id), rs -> rs.getString(1));
+    }
+
+    /**
+     * Gets whether a user is verified.
+     *
+     * @param id the user id
+     * @return true if the user is verified, false otherwise
+     */
+    public boolean getUserVerified(int id) {
+        User cached = UserCache.getById(id);
+        if (cached != null) {
+            return cached.isVerified();
         }
-        return null;
+        Boolean verified = executeSingleQuery(Query.GET_USER_VERIFIED_BY_ID,
+                stmt -> stmt.setInt(1, id), rs -> rs.getBoolean(1));
+        return verified != null && verified;
     }
 
-    public static boolean getUserVerified(int id) {
-        try (Connection conn = DriverManager.getConnection(Database.DB_URL)){
-            String sql = SQLLoader.get("get_user_verified_by_id");
-            if (conn != null) {
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                stmt.setInt(1, id);
-                ResultSet user = stmt.executeQuery();
-                if (user.next()){
-                    return user.getBoolean("verified");
-                }
-            }
-        } catch (SQLException e) {
-            System.out.println(e.getMessage());
+    /**
+     * Adds a freshly loaded user to the cache.
+     *
+     * @param user the loaded user, or null if none was found
+     * @return the same user
+     */
+    private User cache(User user) {
+        if (user != null) {
+            UserCache.put(user);
         }
-        return false;
+        return user;
     }
-}
\ No newline at end of file
+}
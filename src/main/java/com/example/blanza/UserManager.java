@@ -4,6 +4,9 @@ package com.example.blanza;
  * The type User manager.
  */
 public class UserManager {
+    /** Data access object for user records */
+    private static final UserDB userDB = new UserDB();
+
     /**
      * Signup process boolean.
      *
@@ -21,9 +24,12 @@ public class UserManager {
         else {
             String otp = OTPGenerator.generateOTP();
             AuthenticationService.sendOTP(email, otp);
-            createUser(username, email, phoneNumber, password);
-            UserDB.setOTP(email, otp);
-            SessionManager.saveSession(UserDB.getUserInfoByUsername(username).getId());
+            int userId = createUser(username, email, phoneNumber, password);
+            if (userId == -1) {
+                return false;
+            }
+            userDB.setOTP(email, otp);
+            SessionManager.saveSession(userId);
             return true;
         }
     }
@@ -36,13 +42,29 @@ public class UserManager {
      * @return the boolean
      */
     public static boolean loginProcess(String email, String password){
-        if (loginValidation(email, password)) {
-            SessionManager.saveSession(UserDB.getUserInfoByEmail(email).getId());
+        int userId = loginValidation(email, password);
+        if (userId != -1) {
+            SessionManager.saveSession(userId);
+            SessionService.setCurrentUserId(userId);
             return true;
         }
         return false;
     }
 
+    /**
+     * Checks login credentials without starting a session.
+     * <p>
+     * Used by the {@link ApiServer}, which authenticates every request instead of
+     * keeping a logged-in user.
+     *
+     * @param email the email
+     * @param password the password
+     * @return the user id, or -1 if the credentials are not valid
+     */
+    public static int authenticate(String email, String password) {
+        return loginValidation(email, password);
+    }
+
     /**
      * signup validation boolean.
      *
@@ -63,7 +85,7 @@ public class UserManager {
         else if (!password.equals(confirmPassword)){
             return false;
         }
-        else if (UserDB.getUserInfoByUsername(username) != null){
+        else if (userDB.usernameExists(username)){
             return false;
         }
         else if (password.contains(" ")){
@@ -76,46 +98,46 @@ public class UserManager {
     }
 
     /**
-     * login validation boolean.
+     * login validation int.
+     * The credentials are fetched once and reused for every check.
      *
      * @param email the email
      * @param password the password
-     * @return the boolean
+     * @return the validated user id, or -1 if the credentials are invalid
      */
-    private static boolean loginValidation(String email, String password){
+    private static int loginValidation(String email, String password){
         if (email == null || password == null){
-            return false;
+            return -1;
         }
-        else if (UserDB.getUserInfoByEmail(email) == null){
-            return false;
+        UserDB.Credentials credentials = userDB.getCredentialsByEmail(email);
+        if (credentials == null){
+            return -1;
         }
-        else if (UserDB.getUserInfoByEmail(email) != null){
-            User userInfo = UserDB.getUserInfoByEmail(email);
-            if (!userInfo.getPassword().equals(password)){
-                return false;
-            }
-            else if (userInfo.getOtp() == null){
-                deleteUser(email);
-                return false;
-            }
-            else if (!userInfo.isVerified()){
-                deleteUser(email);
-                return false;
-            }
+        else if (!credentials.password().equals(password)){
+            return -1;
         }
-        return true;
+        else if (credentials.otp() == null){
+            deleteUser(email);
+            return -1;
+        }
+        else if (!credentials.verified()){
+            deleteUser(email);
+            return -1;
+        }
+        return credentials.id();
     }
 
     /**
-     * create user void.
+     * create user int.
      *
      * @param username the username
      * @param email the email
      * @param phoneNumber the phone number
      * @param password the password
+     * @return the new user id, or -1 if the user could not be created
      */
-    private static void createUser(String username, String email, String phoneNumber, String password) {
-        UserDB.insertUserDB(username, email, phoneNumber, password);
+    private static int createUser(String username, String email, String phoneNumber, String password) {
+        return userDB.insertUserDB(username, email, phoneNumber, password);
     }
 
     /**
@@ -124,7 +146,7 @@ public class UserManager {
      * @param email the email
      */
     private static void deleteUser(String email) {
-        UserDB.removeUserDB(email);
+        userDB.removeUserDB(email);
     }
 
 
@@ -4,6 +4,7 @@ module com.example.blanza {
 
     requires org.kordamp.bootstrapfx.core;
     requires java.sql;
+    requires jdk.httpserver;
     requires io.github.cdimascio.dotenv.java;
     requires jdk.jfr;
     requires java.desktop;
@@ -17,10 +17,16 @@ VALUES(?, ?, ?, ?, ?);
 DELETE FROM users WHERE email = ?;
 
 -- @get_user_info_by_username
-SELECT * FROM users WHERE username = ?;
+SELECT id, username, email, phoneNumber, verified FROM users WHERE username = ?;
+
+-- @get_user_id_by_username
+SELECT id FROM users WHERE username = ?;
 
 -- @get_user_info_by_email
-SELECT * FROM users WHERE email = ?;
+SELECT id, username, email, phoneNumber, verified FROM users WHERE email = ?;
+
+-- @get_user_credentials_by_email
+SELECT id, password, otp, verified FROM users WHERE email = ?;
 
 -- @get_user_email_by_id
 SELECT email FROM users WHERE id=?;
@@ -41,26 +47,163 @@ UPDATE users
 SET verified=true
 WHERE id=?;
 
+-- @create_category_table
+CREATE TABLE IF NOT EXISTS categories (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name TEXT NOT NULL UNIQUE
+);
+
+-- @create_payment_method_table
+CREATE TABLE IF NOT EXISTS payment_methods (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    name TEXT NOT NULL UNIQUE
+);
+
+-- @insert_category
+INSERT OR IGNORE INTO categories(name) VALUES(?);
+
+-- @select_category_id
+SELECT id FROM categories WHERE name = ?;
+
+-- @insert_payment_method
+INSERT OR IGNORE INTO payment_methods(name) VALUES(?);
+
+-- @select_payment_method_id
+SELECT id FROM payment_methods WHERE name = ?;
+
 -- @create_expenses_table
 CREATE TABLE IF NOT EXISTS expenses (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
     user_id INT NOT NULL,
-    category NVARCHAR(100) NOT NULL,
+    category_id INTEGER NOT NULL,
     amount FLOAT NOT NULL CHECK(amount > 0),
     date DATE NOT NULL,
-    payment_method NVARCHAR(50),
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    payment_method_id INTEGER,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (category_id) REFERENCES categories(id),
+    FOREIGN KEY (payment_method_id) REFERENCES payment_methods(id)
 );
 
+-- @create_expenses_date_index
+CREATE INDEX IF NOT EXISTS idx_expenses_user_date ON expenses(user_id, date, id);
+
+-- @count_legacy_expense_columns
+SELECT COUNT(*) FROM pragma_table_info('expenses') WHERE name = 'category';
+
+-- @upgrade_expenses_fill_categories
+INSERT OR IGNORE INTO categories(name)
+SELECT DISTINCT category FROM expenses;
+
+-- @upgrade_expenses_fill_payment_methods
+INSERT OR IGNORE INTO payment_methods(name)
+SELECT DISTINCT payment_method FROM expenses WHERE payment_method IS NOT NULL;
+
+-- @upgrade_expenses_create_encoded
+CREATE TABLE expenses_encoded (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id INT NOT NULL,
+    category_id INTEGER NOT NULL,
+    amount FLOAT NOT NULL CHECK(amount > 0),
+    date DATE NOT NULL,
+    payment_method_id INTEGER,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (category_id) REFERENCES categories(id),
+    FOREIGN KEY (payment_method_id) REFERENCES payment_methods(id)
+);
+
+-- @upgrade_expenses_copy
+INSERT INTO expenses_encoded(id, user_id, category_id, amount, date, payment_method_id)
+SELECT e.id, e.user_id, c.id, e.amount, e.date, p.id
+FROM expenses e
+JOIN categories c ON c.name = e.category
+LEFT JOIN payment_methods p ON p.name = e.payment_method;
+
+-- @upgrade_expenses_drop_legacy
+DROP TABLE expenses;
+
+-- @upgrade_expenses_rename
+ALTER TABLE expenses_encoded RENAME TO expenses;
+
 -- @insert_expense
-INSERT INTO expenses(user_id, category, amount, date, payment_method)
+INSERT INTO expenses(user_id, category_id, amount, date, payment_method_id)
 VALUES(?, ?, ?, ?, ?);
 
 -- @select_all_expenses
-SELECT * FROM expenses WHERE user_id=?;
+SELECT e.id, e.user_id, e.category_id, c.name AS category, e.amount, e.date,
+       e.payment_method_id, p.name AS payment_method
+FROM expenses e
+JOIN categories c ON c.id = e.category_id
+LEFT JOIN payment_methods p ON p.id = e.payment_method_id
+WHERE e.user_id=?;
+
+-- @select_expense_by_id
+SELECT e.id, e.user_id, e.category_id, c.name AS category, e.amount, e.date,
+       e.payment_method_id, p.name AS payment_method
+FROM expenses e
+JOIN categories c ON c.id = e.category_id
+LEFT JOIN payment_methods p ON p.id = e.payment_method_id
+WHERE e.id = ? AND e.user_id = ?;
+
+-- @select_expenses_page
+SELECT e.id, e.user_id, e.category_id, c.name AS category, e.amount, e.date,
+       e.payment_method_id, p.name AS payment_method, e.date AS page_key, e.id AS page_id
+FROM expenses e
+JOIN categories c ON c.id = e.category_id
+LEFT JOIN payment_methods p ON p.id = e.payment_method_id
+WHERE e.user_id = ? AND (e.date, e.id) > (?, ?)
+ORDER BY e.date, e.id
+LIMIT ?;
+
+-- @select_expense_totals
+SELECT COUNT(*) AS expense_count, COALESCE(SUM(amount), 0) AS total FROM expenses WHERE user_id = ?;
+
+-- @create_expense_dictionary_table
+CREATE TABLE IF NOT EXISTS expense_dictionary (
+    user_id INTEGER NOT NULL,
+    kind TEXT NOT NULL CHECK(kind IN ('category', 'payment_method')),
+    value TEXT NOT NULL,
+    usage_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, kind, value),
+    FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- @migrate_backfill_expense_dictionary
+INSERT OR IGNORE INTO expense_dictionary(user_id, kind, value, usage_count)
+SELECT e.user_id, 'category', c.name, COUNT(*)
+FROM expenses e JOIN categories c ON c.id = e.category_id
+WHERE NOT EXISTS (SELECT 1 FROM expense_dictionary)
+GROUP BY e.user_id, c.name
+UNION ALL
+SELECT e.user_id, 'payment_method', p.name, COUNT(*)
+FROM expenses e JOIN payment_methods p ON p.id = e.payment_method_id
+WHERE NOT EXISTS (SELECT 1 FROM expense_dictionary)
+GROUP BY e.user_id, p.name;
+
+-- @increment_expense_dictionary
+INSERT INTO expense_dictionary(user_id, kind, value, usage_count)
+VALUES(?, ?, ?, 1)
+ON CONFLICT(user_id, kind, value) DO UPDATE SET usage_count = usage_count + 1;
+
+-- @decrement_expense_dictionary
+UPDATE expense_dictionary SET usage_count = usage_count - 1
+WHERE user_id = ? AND kind = ? AND value = ?;
+
+-- @delete_unused_expense_dictionary
+DELETE FROM expense_dictionary
+WHERE user_id = ? AND kind = ? AND value = ? AND usage_count <= 0;
+
+-- @select_expense_categories
+SELECT value FROM expense_dictionary
+WHERE user_id = ? AND kind = 'category'
+ORDER BY usage_count DESC, value;
+
+-- @select_expense_payment_methods
+SELECT value FROM expense_dictionary
+WHERE user_id = ? AND kind = 'payment_method'
+ORDER BY usage_count DESC, value;
 
 -- @delete_expense_by_id
-DELETE FROM expenses WHERE id = ?;
+DELETE FROM expenses WHERE id = ? AND user_id = ?;
 
 
 -- @create_income_table
@@ -73,12 +216,25 @@ CREATE TABLE IF NOT EXISTS income (
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- @create_income_date_index
+CREATE INDEX IF NOT EXISTS idx_income_user_date ON income(user_id, date, id);
+
 -- @insert_income
 INSERT INTO income(user_id, source, amount, date)
 VALUES(?, ?, ?, ?);
 
 -- @select_all_incomes
-Select * From income WHERE user_id=?;
+SELECT user_id, source, amount, date FROM income WHERE user_id=?;
+
+-- @select_incomes_page
+SELECT id, user_id, source, amount, date, date AS page_key, id AS page_id
+FROM income
+WHERE user_id = ? AND (date, id) > (?, ?)
+ORDER BY date, id
+LIMIT ?;
+
+-- @select_income_total
+SELECT COALESCE(SUM(amount), 0) FROM income WHERE user_id = ?;
 
 -- @create_budget_table
 CREATE TABLE IF NOT EXISTS budgets (
@@ -88,21 +244,59 @@ CREATE TABLE IF NOT EXISTS budgets (
     budget_amount REAL NOT NULL,
     actual_spend REAL NOT NULL DEFAULT 0,
     remaining_budget REAL NOT NULL,
+    period TEXT NOT NULL DEFAULT 'MONTHLY',
+    period_days INTEGER NOT NULL DEFAULT 0,
+    period_start TEXT,
+    period_end TEXT,
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- @count_budget_period_columns
+SELECT COUNT(*) FROM pragma_table_info('budgets') WHERE name = 'period';
+
+-- @upgrade_budgets_add_period
+ALTER TABLE budgets ADD COLUMN period TEXT NOT NULL DEFAULT 'MONTHLY';
+
+-- @upgrade_budgets_add_period_days
+ALTER TABLE budgets ADD COLUMN period_days INTEGER NOT NULL DEFAULT 0;
+
+-- @upgrade_budgets_add_period_start
+ALTER TABLE budgets ADD COLUMN period_start TEXT;
+
+-- @upgrade_budgets_add_period_end
+ALTER TABLE budgets ADD COLUMN period_end TEXT;
+
+-- @create_budget_period_end_index
+CREATE INDEX IF NOT EXISTS idx_budgets_period_end ON budgets(period_end);
+
+-- @create_budget_period_spend_table
+CREATE TABLE IF NOT EXISTS budget_period_spend (
+    budget_id INTEGER NOT NULL,
+    period_start TEXT NOT NULL,
+    period_end TEXT NOT NULL,
+    spend REAL NOT NULL DEFAULT 0,
+    PRIMARY KEY (budget_id, period_start),
+    FOREIGN KEY (budget_id) REFERENCES budgets(id)
+);
+
+-- @create_budget_category_index
+CREATE INDEX IF NOT EXISTS idx_budgets_user_category ON budgets(user_id, category);
+
 -- @insert_budget
-INSERT INTO budgets (user_id, category, budget_amount, actual_spend, remaining_budget) 
-VALUES (?, ?, ?, ?, ?);
+INSERT INTO budgets (user_id, category, budget_amount, actual_spend, remaining_budget, period, period_days, period_start, period_end)
+VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
 
 -- @select_all_budgets
-SELECT * FROM budgets WHERE user_id = ?;
+SELECT id, user_id, category, budget_amount, actual_spend, remaining_budget, period, period_days, period_start, period_end FROM budgets WHERE user_id = ?;
+
+-- @select_budget_categories
+SELECT DISTINCT category FROM budgets WHERE user_id = ? ORDER BY category;
 
 -- @select_budget_by_user_id
-SELECT * FROM budgets WHERE user_id = ?;
+SELECT id, user_id, category, budget_amount, actual_spend, remaining_budget, period, period_days, period_start, period_end FROM budgets WHERE user_id = ?;
 
 -- @select_budget_by_category
-SELECT * FROM budgets WHERE user_id = ? AND category = ?;
+SELECT id, user_id, category, budget_amount, actual_spend, remaining_budget, period, period_days, period_start, period_end FROM budgets WHERE user_id = ? AND category = ?;
 
 -- @update_budget_spend
 UPDATE budgets
@@ -115,7 +309,61 @@ UPDATE budgets SET category = ?, budget_amount = ?, actual_spend = ?, remaining_
 WHERE id = ? AND user_id = ?;
 
 -- @select_budget_by_category_and_user
-SELECT * FROM budgets WHERE category = ? AND user_id = ?;
+SELECT id, user_id, category, budget_amount, actual_spend, remaining_budget, period, period_days, period_start, period_end FROM budgets WHERE category = ? AND user_id = ?;
+
+-- @update_budget_amount
+UPDATE budgets SET budget_amount = ?, remaining_budget = ? - actual_spend
+WHERE id = ? AND user_id = ?;
+
+-- @select_budget_period_by_category
+SELECT id, user_id, category, period, period_days, period_start FROM budgets WHERE user_id = ? AND category = ?;
+
+-- @add_budget_spend
+UPDATE budgets SET actual_spend = actual_spend + ?, remaining_budget = remaining_budget - ?
+WHERE id = ?;
+
+-- @add_budget_period_spend
+INSERT INTO budget_period_spend(budget_id, period_start, period_end, spend)
+VALUES(?, ?, ?, ?)
+ON CONFLICT(budget_id, period_start) DO UPDATE SET spend = spend + excluded.spend;
+
+-- @select_budget_period_spend
+SELECT period_start, period_end, spend FROM budget_period_spend
+WHERE budget_id = ?
+ORDER BY period_start DESC
+LIMIT ?;
+
+-- @select_budgets_due_for_rollover
+SELECT id, user_id, category, period, period_days, period_start FROM budgets WHERE period_end <= ?;
+
+-- @select_budgets_for_recompute
+SELECT id, user_id, category, period, period_days, period_start FROM budgets;
+
+-- @set_budget_period
+UPDATE budgets
+SET period_start = ?, period_end = ?,
+    actual_spend = COALESCE((SELECT spend FROM budget_period_spend WHERE budget_id = budgets.id AND period_start = ?), 0)
+WHERE id = ?;
+
+-- @select_budget_expenses
+SELECT e.date, e.amount
+FROM expenses e JOIN categories c ON c.id = e.category_id
+WHERE e.user_id = ? AND c.name = ?;
+
+-- @delete_budget_period_spend
+DELETE FROM budget_period_spend WHERE budget_id = ?;
+
+-- @update_budget_remaining
+UPDATE budgets SET remaining_budget = budget_amount - actual_spend
+WHERE remaining_budget <> budget_amount - actual_spend;
+
+-- @create_schema_migrations_table
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    name TEXT PRIMARY KEY
+);
+
+-- @insert_schema_migration
+INSERT OR IGNORE INTO schema_migrations(name) VALUES(?);
 
 -- @create_reminder_table
 CREATE TABLE IF NOT EXISTS reminders (
@@ -129,6 +377,9 @@ CREATE TABLE IF NOT EXISTS reminders (
     FOREIGN KEY (task_id) REFERENCES financial_tasks(id)
 );
 
+-- @create_reminder_time_index
+CREATE INDEX IF NOT EXISTS idx_reminders_user_time ON reminders(user_id, time, id);
+
 -- @insert_reminder
 INSERT INTO reminders(user_id, title, description, time, task_id)
 VALUES(?, ?, ?, ?, ?);
@@ -137,7 +388,25 @@ VALUES(?, ?, ?, ?, ?);
 DELETE FROM reminders WHERE id = ?;
 
 -- @get_user_reminders
-SELECT * FROM reminders WHERE user_id = ? ORDER BY time ASC;
+SELECT r.id, r.title, r.description, r.time, r.task_id,
+       t.user_id AS task_user_id, t.title AS task_title, t.description AS task_description,
+       t.due_date AS task_due_date, t.amount AS task_amount, t.category AS task_category,
+       t.status AS task_status
+FROM reminders r
+LEFT JOIN financial_tasks t ON t.id = r.task_id
+WHERE r.user_id = ?
+ORDER BY r.time ASC;
+
+-- @get_user_reminders_page
+SELECT r.id, r.title, r.description, r.time, r.task_id,
+       t.user_id AS task_user_id, t.title AS task_title, t.description AS task_description,
+       t.due_date AS task_due_date, t.amount AS task_amount, t.category AS task_category,
+       t.status AS task_status, r.time AS page_key, r.id AS page_id
+FROM reminders r
+LEFT JOIN financial_tasks t ON t.id = r.task_id
+WHERE r.user_id = ? AND (r.time, r.id) > (?, ?)
+ORDER BY r.time, r.id
+LIMIT ?;
 
 -- @update_reminder
 UPDATE reminders
@@ -157,6 +426,9 @@ CREATE TABLE IF NOT EXISTS financial_tasks (
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- @create_financial_task_due_date_index
+CREATE INDEX IF NOT EXISTS idx_financial_tasks_user_due_date ON financial_tasks(user_id, due_date, id);
+
 -- @insert_financial_task
 INSERT INTO financial_tasks(user_id, title, description, due_date, amount, category, status)
 VALUES(?, ?, ?, ?, ?, ?, ?);
@@ -165,10 +437,18 @@ VALUES(?, ?, ?, ?, ?, ?, ?);
 DELETE FROM financial_tasks WHERE id = ?;
 
 -- @get_user_financial_tasks
-SELECT * FROM financial_tasks WHERE user_id = ? ORDER BY due_date ASC;
+SELECT id, user_id, title, description, due_date, amount, category, status FROM financial_tasks WHERE user_id = ? ORDER BY due_date ASC;
+
+-- @get_user_financial_tasks_page
+SELECT id, user_id, title, description, due_date, amount, category, status,
+       due_date AS page_key, id AS page_id
+FROM financial_tasks
+WHERE user_id = ? AND (due_date, id) > (?, ?)
+ORDER BY due_date, id
+LIMIT ?;
 
 -- @get_financial_task_by_id
-SELECT * FROM financial_tasks WHERE id = ?;
+SELECT id, user_id, title, description, due_date, amount, category, status FROM financial_tasks WHERE id = ?;
 
 -- @update_financial_task_status
 UPDATE financial_tasks
@@ -181,6 +461,6 @@ SET title = ?, description = ?, due_date = ?, amount = ?, category = ?, status =
 WHERE id = ?;
 
 -- @get_upcoming_financial_tasks
-SELECT * FROM financial_tasks 
+SELECT id, user_id, title, description, due_date, amount, category, status FROM financial_tasks
 WHERE user_id = ? AND due_date >= ? AND status = 'PENDING'
 ORDER BY due_date ASC;
\ No newline at end of file